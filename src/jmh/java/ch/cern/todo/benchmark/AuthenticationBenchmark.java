@@ -0,0 +1,63 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.security.AuthenticationResultCache;
+import ch.cern.todo.security.CachingAuthenticationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication overhead of one HTTP Basic request, configured as in {@code SecurityConfig}: {@code bcrypt}
+ * verifies the password on every request, {@code cached} goes through the {@link AuthenticationResultCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthenticationBenchmark {
+
+    @Param({"bcrypt", "cached"})
+    public String mode;
+
+    private AuthenticationManager authenticationManager;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername("adriBana")
+                .password(passwordEncoder.encode("password"))
+                .roles("ADMIN")
+                .build()));
+        AuthenticationProvider provider = mode.equals("cached")
+                ? new CachingAuthenticationProvider(daoAuthenticationProvider, new AuthenticationResultCache(60_000, 10_000))
+                : daoAuthenticationProvider;
+        authenticationManager = new ProviderManager(provider);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("adriBana", "password"));
+    }
+}
@@ -0,0 +1,83 @@
+package ch.cern.todo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints the change in score and normalised allocation of every benchmark between two JMH JSON result files.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <results.json>}. Benchmarks missing from either side are
+ * listed as such; differences beyond {@value #THRESHOLD_PERCENT}% are marked so they stand out in CI logs.
+ * </p>
+ */
+public class BaselineComparison {
+
+    private static final double THRESHOLD_PERCENT = 10.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: BaselineComparison <baseline.json> <results.json>");
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        System.out.printf("%-75s %14s %14s %9s %12s %12s %9s%n",
+                "Benchmark", "Baseline", "Current", "Delta", "B/op base", "B/op now", "Delta");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.3f %s%n", entry.getKey(), "-", score(after), unit(after));
+                continue;
+            }
+            System.out.printf("%-75s %14.3f %14.3f %9s %12.1f %12.1f %9s%n", entry.getKey(),
+                    score(before), score(after), delta(score(before), score(after)),
+                    allocation(before), allocation(after), delta(allocation(before), allocation(after)));
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-75s missing from the current results%n", key));
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                    .replace("ch.cern.todo.benchmark.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param ->
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.get("primaryMetric").get("score").asDouble();
+    }
+
+    private static String unit(JsonNode result) {
+        return result.get("primaryMetric").get("scoreUnit").asText();
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? Double.NaN : metric.get("score").asDouble();
+    }
+
+    private static String delta(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0.0) {
+            return "n/a";
+        }
+        double percent = (after - before) / before * 100.0;
+        return String.format("%+.1f%%%s", percent, Math.abs(percent) > THRESHOLD_PERCENT ? "!" : "");
+    }
+}
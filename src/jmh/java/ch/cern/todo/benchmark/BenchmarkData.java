@@ -0,0 +1,52 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryStatus;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fixed, realistic fixtures shared by the benchmarks so results stay comparable between runs.
+ */
+final class BenchmarkData {
+
+    static final Timestamp CURRENT_VERSION = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 12, 0, 0));
+    static final Timestamp DEADLINE = Timestamp.valueOf(LocalDateTime.of(2030, 6, 1, 9, 30, 0));
+
+    private BenchmarkData() {
+    }
+
+    static Category category() {
+        return new Category("7c1e2f4a-9b3d-4e55-8a61-0f2b7c9d1e3a", "Operations", "Accelerator operations",
+                CategoryStatus.ACTIVE, Collections.emptyList(), DEADLINE, CURRENT_VERSION);
+    }
+
+    static Task task(int index, Category category) {
+        return new Task("3f9a6c2e-1b7d-4a0e-9c5f-" + String.format("%012d", index),
+                "Replace beam position monitor " + index,
+                "Replace the faulty monitor in sector " + (index % 8) + " during the next technical stop",
+                DEADLINE, TaskStatus.IN_PROGRESS, TaskPriorityStatus.HIGH,
+                "adriBana", "mareNowa", category, DEADLINE, CURRENT_VERSION);
+    }
+
+    static TaskResource resource(Task task) {
+        return TaskResource.from(task, "Adrian Banachowicz", "Marek Nowak");
+    }
+
+    static List<TaskResource> resources(int count) {
+        Category category = category();
+        List<TaskResource> resources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resources.add(resource(task(i, category)));
+        }
+        return resources;
+    }
+}
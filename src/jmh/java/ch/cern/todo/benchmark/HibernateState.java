@@ -0,0 +1,45 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.tasks.dataModels.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Boots a plain Hibernate {@link SessionFactory} over an in-memory H2 database, without Spring, so criteria
+ * benchmarks run against the real {@link CriteriaBuilder} implementation used by the application.
+ */
+@State(Scope.Benchmark)
+public class HibernateState {
+
+    SessionFactory sessionFactory;
+    EntityManager entityManager;
+    CriteriaBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Task.class)
+                .addAnnotatedClass(Category.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.show_sql", "false")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        builder = entityManager.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+}
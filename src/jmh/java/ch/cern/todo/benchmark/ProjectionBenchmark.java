@@ -0,0 +1,87 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.searchEngine.ProjectionQueryHelper;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.searchEngine.TaskSearchEngineService;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of {@code GET /task} filtered by category, loaded and encoded as full resources and as the sparse
+ * fieldset {@code id,name,status,deadLine}.
+ * <p>
+ * The full page loads task entities with their category, as the repository does; the sparse page selects the
+ * requested columns only. The persistence context is cleared before every page, as every request starts with an
+ * empty one. The payload sizes of both variants are compared by {@code TaskControllerIntegrationTest}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectionBenchmark {
+
+    private static final List<String> SPARSE_ATTRIBUTES = List.of("id", "name", "status", "deadLine");
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"200"})
+    public int tasksInCategory;
+
+    private final TaskSearchEngineService specification =
+            new TaskSearchEngineService(new SearchCriteria("category.name", "=", "Operations"));
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private SimpleJpaRepository<Task, TaskKey> repository;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp(HibernateState state) {
+        state.entityManager.getTransaction().begin();
+        Category category = BenchmarkData.category();
+        state.entityManager.persist(category);
+        for (int i = 0; i < tasksInCategory; i++) {
+            state.entityManager.persist(BenchmarkData.task(i, category));
+        }
+        state.entityManager.getTransaction().commit();
+        state.entityManager.clear();
+        repository = new SimpleJpaRepository<>(Task.class, state.entityManager);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+    }
+
+    @Benchmark
+    public byte[] fullPage(HibernateState state) throws Exception {
+        state.entityManager.clear();
+        return mapper.writeValueAsBytes(repository.findAll(specification, pageable).map(BenchmarkData::resource).getContent());
+    }
+
+    @Benchmark
+    public byte[] sparsePage(HibernateState state) throws Exception {
+        state.entityManager.clear();
+        return mapper.writeValueAsBytes(ProjectionQueryHelper.findAll(state.entityManager, Task.class, specification,
+                pageable, SPARSE_ATTRIBUTES).getContent());
+    }
+}
@@ -0,0 +1,95 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.searchEngine.SearchEngineHelper;
+import ch.cern.todo.searchEngine.TaskSearchEngineService;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search request hot path: value conversion, predicate creation and the task specification.
+ * <p>
+ * The specification benchmarks include creating the {@link CriteriaQuery} and its root, as every search does.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchEngineBenchmark {
+
+    private final TaskSearchEngineService byName = new TaskSearchEngineService(new SearchCriteria("name", ":", "monitor"));
+    private final TaskSearchEngineService byDeadline =
+            new TaskSearchEngineService(new SearchCriteria("deadLine", ">=", "2030-01-01T00:00:00"));
+    private final TaskSearchEngineService byCategoryName =
+            new TaskSearchEngineService(new SearchCriteria("category.name", "=", "Operations"));
+
+    @Benchmark
+    public Object convertEnum() {
+        return SearchEngineHelper.convertValue("IN_PROGRESS", TaskStatus.class);
+    }
+
+    @Benchmark
+    public Object convertTimestamp() {
+        return SearchEngineHelper.convertValue("2030-01-01T00:00:00", Timestamp.class);
+    }
+
+    @Benchmark
+    public Object convertInteger() {
+        return SearchEngineHelper.convertValue("42", Integer.class);
+    }
+
+    @Benchmark
+    public Object convertSameType() {
+        return SearchEngineHelper.convertValue("Operations", String.class);
+    }
+
+    @Benchmark
+    public Predicate equalPredicate(HibernateState state) {
+        Root<Task> root = state.builder.createQuery(Task.class).from(Task.class);
+        return SearchEngineHelper.getPredicate(state.builder, root.get("name"), "Operations", "=");
+    }
+
+    @Benchmark
+    public Predicate likePredicate(HibernateState state) {
+        Root<Task> root = state.builder.createQuery(Task.class).from(Task.class);
+        return SearchEngineHelper.getPredicate(state.builder, root.get("name"), "Monitor", "LIKE");
+    }
+
+    @Benchmark
+    public Predicate specificationOnAttribute(HibernateState state) {
+        return toPredicate(state, byName);
+    }
+
+    @Benchmark
+    public Predicate specificationWithConversion(HibernateState state) {
+        return toPredicate(state, byDeadline);
+    }
+
+    @Benchmark
+    public Predicate specificationWithJoin(HibernateState state) {
+        return toPredicate(state, byCategoryName);
+    }
+
+    private static Predicate toPredicate(HibernateState state, TaskSearchEngineService specification) {
+        CriteriaQuery<Task> query = state.builder.createQuery(Task.class);
+        return specification.toPredicate(query.from(Task.class), query, state.builder);
+    }
+}
@@ -0,0 +1,82 @@
+package ch.cern.todo.benchmark;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.profile.ProfileService;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/resource mapping done for every task read or written, and the profile name lookups around it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskMappingBenchmark {
+
+    private final ProfileService profileService = new ProfileService();
+    private final List<String> profileIds = List.of("adriBana", "mareNowa", "unknown");
+    private Category category;
+    private Task task;
+    private TaskResource resource;
+
+    @Setup
+    public void setUp() {
+        category = BenchmarkData.category();
+        task = BenchmarkData.task(1, category);
+        resource = BenchmarkData.resource(task);
+    }
+
+    @Benchmark
+    public Task newTaskFromResource() {
+        return Task.from(resource, TaskStatus.CREATED, category);
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        return task.updateStatus(TaskStatus.COMPLETED);
+    }
+
+    @Benchmark
+    public Task updateStatusToDeleted() {
+        return task.updateStatus(TaskStatus.DELETED);
+    }
+
+    @Benchmark
+    public TaskResource resourceFromTask() {
+        return TaskResource.from(task, "Adrian Banachowicz", "Marek Nowak");
+    }
+
+    @Benchmark
+    public TaskResource resourceWithNameLookups() {
+        return TaskResource.from(task, profileService.getFullName(task.getAssignedTo()),
+                profileService.getFullName(task.getReportedBy()));
+    }
+
+    @Benchmark
+    public String fullName() {
+        return profileService.getFullName("adriBana");
+    }
+
+    @Benchmark
+    public Map<String, String> fullNames() {
+        return profileService.getFullNames(profileIds);
+    }
+}
@@ -0,0 +1,36 @@
+package ch.cern.todo.cache;
+
+import ch.cern.todo.cache.dataModels.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    @Autowired
+    public CacheController(SerializedResponseCache serializedResponseCache) {
+        this.serializedResponseCache = serializedResponseCache;
+    }
+
+    /**
+     * Retrieves the hit rate and memory usage of the serialised response cache.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity containing the CacheStats.
+     */
+    @GetMapping(value = "/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStats> getStats() {
+        return ResponseEntity.ok(serializedResponseCache.getStats());
+    }
+}
@@ -0,0 +1,159 @@
+package ch.cern.todo.cache;
+
+import ch.cern.todo.cache.dataModels.CacheStats;
+import ch.cern.todo.cache.dataModels.ResponseFormat;
+import ch.cern.todo.timing.RequestTiming;
+import ch.cern.todo.timing.dataModels.TimingPhase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of serialised resource representations.
+ * <p>
+ * Entries are keyed by entity version, and a version is never modified once written, so entries never
+ * need to be invalidated: a new version simply gets a new key and the old entry ages out. Entries can be
+ * kept in direct buffers to keep large caches out of the garbage collected heap.
+ * </p>
+ */
+@Service
+public class SerializedResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SerializedResponseCache.class);
+
+    private final Map<ResponseFormat, ObjectMapper> objectMappers = new EnumMap<>(ResponseFormat.class);
+    private final LinkedHashMap<CacheKey, Object> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxBytes;
+    private final boolean offHeap;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    @Autowired
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+                                   MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter,
+                                   @Value("${todo.cache.response.max-bytes:16777216}") long maxBytes,
+                                   @Value("${todo.cache.response.off-heap:false}") boolean offHeap) {
+        objectMappers.put(ResponseFormat.JSON, objectMapper);
+        objectMappers.put(ResponseFormat.CBOR, cborHttpMessageConverter.getObjectMapper());
+        objectMappers.put(ResponseFormat.SMILE, smileHttpMessageConverter.getObjectMapper());
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Returns the serialised representation of a resource version, building and caching it on a miss.
+     *
+     * @param version        the immutable version of the resource, e.g. {@code task:<id>@<processedFrom>}
+     * @param format         the wire encoding
+     * @param resourceLoader builds the resource on a miss; may return {@code null} when it no longer exists
+     * @return the serialised resource, or {@code null} when the loader returned {@code null}
+     */
+    public byte[] get(String version, ResponseFormat format, Supplier<?> resourceLoader) {
+        byte[] cached = getIfPresent(version, format);
+        if (cached != null) {
+            return cached;
+        }
+        Object resource = resourceLoader.get();
+        return resource == null ? null : put(version, format, resource);
+    }
+
+    /**
+     * Returns the cached serialised representation of a resource version without loading it on a miss.
+     *
+     * @param version the immutable version of the resource
+     * @param format  the wire encoding
+     * @return the serialised resource, or {@code null} when it is not cached
+     */
+    public synchronized byte[] getIfPresent(String version, ResponseFormat format) {
+        Object entry = entries.get(new CacheKey(version, format));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return toBytes(entry);
+    }
+
+    /**
+     * Serialises a resource and caches it under the given version.
+     * <p>
+     * Use this instead of {@link #get} when the version is only known once the resource has been loaded,
+     * so the entry is keyed by exactly the version it was built from.
+     * </p>
+     *
+     * @param version  the immutable version the resource was built from
+     * @param format   the wire encoding
+     * @param resource the resource to serialise
+     * @return the serialised resource
+     */
+    public byte[] put(String version, ResponseFormat format, Object resource) {
+        byte[] serialised = serialise(resource, format);
+        store(new CacheKey(version, format), serialised);
+        return serialised;
+    }
+
+    public synchronized CacheStats getStats() {
+        long lookups = hits + misses;
+        return new CacheStats(hits, misses, evictions, entries.size(), bytes, maxBytes, offHeap,
+                lookups == 0 ? 0 : (double) hits / lookups);
+    }
+
+    private byte[] serialise(Object resource, ResponseFormat format) {
+        long start = RequestTiming.start();
+        try {
+            return objectMappers.get(format).writeValueAsBytes(resource);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not serialise " + format.getName() + " response", ex);
+        } finally {
+            RequestTiming.stop(TimingPhase.SERIALISATION, start);
+        }
+    }
+
+    private synchronized void store(CacheKey key, byte[] serialised) {
+        if (serialised.length > maxBytes || entries.containsKey(key)) {
+            return;
+        }
+        entries.put(key, offHeap ? ByteBuffer.allocateDirect(serialised.length).put(serialised).flip() : serialised);
+        bytes += serialised.length;
+        Iterator<Object> leastRecentlyUsed = entries.values().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            bytes -= sizeOf(leastRecentlyUsed.next());
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+        logger.debug("Cached {} bytes for {}", serialised.length, key);
+    }
+
+    private static byte[] toBytes(Object entry) {
+        if (entry instanceof ByteBuffer buffer) {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            return copy;
+        }
+        return (byte[]) entry;
+    }
+
+    private static int sizeOf(Object entry) {
+        return entry instanceof ByteBuffer buffer ? buffer.remaining() : ((byte[]) entry).length;
+    }
+
+    private record CacheKey(String version, ResponseFormat format) {
+    }
+}
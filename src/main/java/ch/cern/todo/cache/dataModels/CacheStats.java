@@ -0,0 +1,17 @@
+package ch.cern.todo.cache.dataModels;
+
+/**
+ * Snapshot of the serialised response cache.
+ *
+ * @param hits      lookups answered from the cache since start-up
+ * @param misses    lookups that had to build and serialise the resource since start-up
+ * @param evictions entries dropped to stay within the byte budget since start-up
+ * @param entries   entries currently cached
+ * @param bytes     bytes currently held by the cached entries
+ * @param maxBytes  byte budget of the cache
+ * @param offHeap   whether entries are held in direct buffers outside the Java heap
+ * @param hitRate   hits divided by all lookups, {@code 0} before the first lookup
+ */
+public record CacheStats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes,
+                         boolean offHeap, double hitRate) {
+}
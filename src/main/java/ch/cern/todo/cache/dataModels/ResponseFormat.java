@@ -0,0 +1,56 @@
+package ch.cern.todo.cache.dataModels;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.List;
+
+public enum ResponseFormat {
+    JSON("Json", MediaType.APPLICATION_JSON),
+    CBOR("Cbor", MediaType.APPLICATION_CBOR),
+    SMILE("Smile", MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private final String name;
+    private final MediaType mediaType;
+
+    ResponseFormat(String name, MediaType mediaType){
+        this.name = name;
+        this.mediaType = mediaType;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public MediaType getMediaType(){
+        return mediaType;
+    }
+
+    public static ResponseFormat getByName(String name){
+        return Arrays.stream(values())
+                .filter(format -> format.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Picks the first format accepted by the client, falling back to JSON so that content negotiation
+     * still rejects unsupported media types as before.
+     *
+     * @param acceptHeader the value of the {@code Accept} header, may be {@code null}
+     */
+    public static ResponseFormat negotiate(String acceptHeader){
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> acceptedMediaTypes = MediaType.parseMediaTypes(acceptHeader);
+        for (MediaType acceptedMediaType : acceptedMediaTypes) {
+            for (ResponseFormat format : values()) {
+                if (acceptedMediaType.isCompatibleWith(format.getMediaType())) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
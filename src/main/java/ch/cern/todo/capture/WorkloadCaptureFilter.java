@@ -0,0 +1,84 @@
+package ch.cern.todo.capture;
+
+import ch.cern.todo.capture.dataModels.CapturedRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in capture of the real request workload ({@code todo.capture.enabled=true}).
+ * <p>
+ * Records the endpoint, query parameters, search criteria body, negotiated format, status and server side timing
+ * of a sample of the requests under the configured path prefixes, so the workload can later be replayed against
+ * another build. Runs ahead of the security filters so the timing covers the whole request; the Authorization
+ * header is never recorded. For asynchronous responses such as exports the timing ends when the handler returns.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "todo.capture.enabled", havingValue = "true")
+public class WorkloadCaptureFilter extends OncePerRequestFilter {
+
+    private final WorkloadCaptureWriter writer;
+    private final List<String> pathPrefixes;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    @Autowired
+    public WorkloadCaptureFilter(WorkloadCaptureWriter writer,
+                                 @Value("${todo.capture.paths:/task,/category}") String[] pathPrefixes,
+                                 @Value("${todo.capture.sample-rate:1.0}") double sampleRate,
+                                 @Value("${todo.capture.max-body-bytes:65536}") int maxBodyBytes) {
+        this.writer = writer;
+        this.pathPrefixes = Arrays.asList(pathPrefixes);
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPrefixes.stream().noneMatch(path::startsWith)
+                || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        long startedAtMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            writer.write(new CapturedRequest(startedAtMillis,
+                    System.nanoTime() - start,
+                    request.getMethod(),
+                    request.getRequestURI().substring(request.getContextPath().length()),
+                    valueOrEmpty(request.getQueryString()),
+                    valueOrEmpty(request.getContentType()),
+                    valueOrEmpty(request.getHeader(HttpHeaders.ACCEPT)),
+                    response.getStatus(),
+                    wrapper.getContentAsByteArray()));
+        }
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
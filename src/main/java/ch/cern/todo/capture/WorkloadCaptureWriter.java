@@ -0,0 +1,81 @@
+package ch.cern.todo.capture;
+
+import ch.cern.todo.capture.dataModels.CapturedRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends captured requests to the capture file.
+ * <p>
+ * Records are buffered in memory and flushed every second and on shutdown, so capturing costs a short
+ * synchronized copy per request. Restarting the application keeps appending to the same file.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "todo.capture.enabled", havingValue = "true")
+public class WorkloadCaptureWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadCaptureWriter.class);
+
+    private final DataOutputStream output;
+    private final AtomicLong captured = new AtomicLong();
+
+    @Autowired
+    public WorkloadCaptureWriter(@Value("${todo.capture.file:capture/workload.cap}") String file) {
+        try {
+            Path path = Path.of(file).toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            boolean newFile = Files.notExists(path) || Files.size(path) == 0;
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true), 64 * 1024));
+            if (newFile) {
+                output.writeInt(CapturedRequest.MAGIC);
+            }
+            logger.info("Capturing the request workload to {}", path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open the workload capture file " + file, ex);
+        }
+    }
+
+    public synchronized void write(CapturedRequest request) {
+        try {
+            request.writeTo(output);
+            captured.incrementAndGet();
+        } catch (IOException ex) {
+            logger.warn("Failed to capture {} {}: {}", request.method(), request.path(), ex.getMessage());
+        }
+    }
+
+    public long getCapturedCount() {
+        return captured.get();
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void flush() {
+        try {
+            output.flush();
+        } catch (IOException ex) {
+            logger.warn("Failed to flush the workload capture: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        output.close();
+        logger.info("Workload capture closed after {} requests", captured.get());
+    }
+}
@@ -0,0 +1,58 @@
+package ch.cern.todo.capture.dataModels;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * One request recorded by the workload capture.
+ * <p>
+ * Stored as a compact binary record: fixed width numbers, modified UTF-8 strings and a length prefixed body.
+ * Credentials are never captured.
+ * </p>
+ *
+ * @param startedAtMillis epoch milliseconds at which the request arrived
+ * @param durationNanos   time spent serving the request
+ * @param method          the HTTP method
+ * @param path            the request path, without the context path
+ * @param query           the raw query string, empty when absent
+ * @param contentType     the request content type, empty when absent
+ * @param accept          the Accept header, empty when absent
+ * @param status          the response status
+ * @param body            the request body, possibly truncated to the configured maximum
+ */
+public record CapturedRequest(long startedAtMillis, long durationNanos, String method, String path, String query,
+                              String contentType, String accept, int status, byte[] body) {
+
+    /**
+     * Written once at the start of every capture file ("TDC1").
+     */
+    public static final int MAGIC = 0x54444331;
+
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(startedAtMillis);
+        output.writeLong(durationNanos);
+        output.writeUTF(method);
+        output.writeUTF(path);
+        output.writeUTF(query);
+        output.writeUTF(contentType);
+        output.writeUTF(accept);
+        output.writeShort(status);
+        output.writeInt(body.length);
+        output.write(body);
+    }
+
+    public static CapturedRequest readFrom(DataInput input) throws IOException {
+        long startedAtMillis = input.readLong();
+        long durationNanos = input.readLong();
+        String method = input.readUTF();
+        String path = input.readUTF();
+        String query = input.readUTF();
+        String contentType = input.readUTF();
+        String accept = input.readUTF();
+        int status = input.readUnsignedShort();
+        byte[] body = new byte[input.readInt()];
+        input.readFully(body);
+        return new CapturedRequest(startedAtMillis, durationNanos, method, path, query, contentType, accept, status, body);
+    }
+}
@@ -2,18 +2,24 @@ package ch.cern.todo.category;
 
 import ch.cern.todo.category.dataModels.CategoryResource;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.web.dataModels.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/category")
 public class CategoryController {
 
@@ -27,13 +33,17 @@ public class CategoryController {
     /**
      * Retrieves a paginated list of categories based on search criteria.
      *
-     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN".</p>
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". It responds with
+     * {@code 304 Not Modified} when the client's ETag still matches the filtered categories and their tasks.
+     * The ETag is only computed for conditional requests, and no Last-Modified is sent since removals do
+     * not advance it.</p>
      *
      * @param page               the page number to retrieve (default is 0).
      * @param size               the number of items per page (default is 10).
      * @param sortBy             the field to sort by (default is "id").
      * @param ascending          whether to sort in ascending order (default is true).
      * @param searchCriteriaList the list of search criteria to filter categories.
+     * @param webRequest         the current request, used to evaluate conditional headers.
      * @return a ResponseEntity containing a page of CategoryResource objects.
      */
     @GetMapping
@@ -43,24 +53,90 @@ public class CategoryController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "true") boolean ascending,
-            @RequestBody List<SearchCriteria> searchCriteriaList) {
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            WebRequest webRequest) {
 
+        if (isConditional(webRequest)) {
+            ResourceVersion version = categoryService.getAllCategoriesVersion(searchCriteriaList);
+            if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT), page, size, sortBy, ascending, searchCriteriaList))) {
+                return null;
+            }
+        }
         Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         return ResponseEntity.ok(categoryService.getAllCategories(pageable, searchCriteriaList));
     }
 
+    /**
+     * Retrieves a paginated list of categories based on search criteria, containing only the requested properties.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". Tasks are only loaded when
+     * the {@code tasks} property is requested.</p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field to sort by (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param fields             the requested CategoryResource properties, e.g. {@code id,name}.
+     * @param searchCriteriaList the list of search criteria to filter categories.
+     * @param webRequest         the current request, used to evaluate conditional headers.
+     * @return a ResponseEntity containing a page of property maps.
+     */
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Page<Map<String, Object>>> getAllCategories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestParam List<String> fields,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            WebRequest webRequest) {
+
+        if (isConditional(webRequest)) {
+            ResourceVersion version = categoryService.getAllCategoriesVersion(searchCriteriaList);
+            if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT), page, size, sortBy, ascending, fields, searchCriteriaList))) {
+                return null;
+            }
+        }
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return ResponseEntity.ok(categoryService.getAllCategories(pageable, searchCriteriaList, fields));
+    }
+
+    /**
+     * Retrieves several categories by their names in one request.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". Categories are returned
+     * in request order; unknown categories are skipped.</p>
+     *
+     * @param names the names of the categories to retrieve.
+     * @return a ResponseEntity containing the found CategoryResources.
+     */
+    @GetMapping(params = "names")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<CategoryResource>> getCategories(@RequestParam List<String> names) {
+        return ResponseEntity.ok(categoryService.getCategories(names));
+    }
+
     /**
      * Retrieves a single category by its name.
      *
-     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN".</p>
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". It responds with
+     * {@code 304 Not Modified} when the client's ETag still matches the category and its tasks. No
+     * Last-Modified is sent since removing a task from the category does not advance it.</p>
      *
      * @param categoryName the name of the category to retrieve.
+     * @param webRequest   the current request, used to evaluate conditional headers.
      * @return ResponseEntity containing the corresponding CategoryResource.
      */
     @GetMapping(value = "/{categoryName}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<CategoryResource> getCategory(@PathVariable String categoryName) {
+    public ResponseEntity<CategoryResource> getCategory(@PathVariable String categoryName, WebRequest webRequest) {
+        ResourceVersion version = categoryService.getCategoryVersion(categoryName);
+        if (version != null && webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.getCategory(categoryName));
     }
 
@@ -106,4 +182,13 @@ public class CategoryController {
         categoryService.deleteCategory(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Tells whether the client revalidates; only then is the version of a listing probed, so plain listings
+     * run no extra query.
+     */
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
 }
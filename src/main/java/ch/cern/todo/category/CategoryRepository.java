@@ -2,16 +2,20 @@ package ch.cern.todo.category;
 
 import ch.cern.todo.category.dataModels.Category;
 import ch.cern.todo.category.dataModels.CategoryKey;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, CategoryKey>, JpaSpecificationExecutor<Category> {
+public interface CategoryRepository extends JpaRepository<Category, CategoryKey>, JpaSpecificationExecutor<Category>, CategoryRepositoryCustom {
 
     String INFINITE_TIME = "c.processedTo = CAST('9999-12-31 12:00:00' AS timestamp)";
     String STATUS_NOT_DELETED = "c.status <> CategoryStatus.DELETED";
@@ -23,6 +27,27 @@ public interface CategoryRepository extends JpaRepository<Category, CategoryKey>
     @Query("SELECT c FROM Category c WHERE c.name = :categoryName AND " + ACTIVE_CATEGORIES)
     Optional<Category> findByCategoryNameAndProcessedTo(String categoryName);
 
+    @Query("SELECT new ch.cern.todo.web.dataModels.ResourceVersion(c.processedFrom, MAX(t.processedFrom), COUNT(t)) "
+            + "FROM Category c LEFT JOIN c.tasks t WHERE c.name = :categoryName AND " + ACTIVE_CATEGORIES
+            + " GROUP BY c.id, c.processedTo, c.processedFrom")
+    Optional<ResourceVersion> findVersionByCategoryName(String categoryName);
+
+    @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.tasks WHERE c.name IN :categoryNames AND " + ACTIVE_CATEGORIES)
+    List<Category> findAllByCategoryNameInAndProcessedTo(Collection<String> categoryNames);
+
+    @Query("SELECT c.id FROM Category c WHERE c.name = :categoryName AND " + ACTIVE_CATEGORIES)
+    Optional<String> findIdByCategoryNameAndProcessedTo(String categoryName);
+
     @Query("SELECT c FROM Category c WHERE c.id = :id AND " + ACTIVE_CATEGORIES)
     Optional<Category> findByIdAndProcessedTo(String id);
+
+    @Query("SELECT c FROM Category c WHERE " + INFINITE_TIME
+            + " AND (c.processedFrom > :since OR (c.processedFrom = :since AND c.id > :id)) AND c.processedFrom < :until"
+            + " ORDER BY c.processedFrom, c.id")
+    List<Category> findCurrentVersionsChangedSince(Timestamp since, String id, Timestamp until, Pageable pageable);
+
+    // Versions ordered before the cursor (since, id): the entity existed when the client synchronised up to it
+    @Query("SELECT DISTINCT c.id FROM Category c WHERE c.id IN :ids"
+            + " AND (c.processedFrom < :since OR (c.processedFrom = :since AND c.id <= :id))")
+    List<String> findIdsWithVersionBefore(Collection<String> ids, Timestamp since, String id);
 }
@@ -0,0 +1,35 @@
+package ch.cern.todo.category;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Criteria based queries of {@link CategoryRepository} that cannot be derived or expressed with {@code @Query}.
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Computes the version of the set of categories matching the specification, including the tasks embedded
+     * in their representation, with a single aggregate query and without loading any entity.
+     *
+     * @param specification the filter of the set
+     * @return the latest {@code processedFrom} of the categories and their tasks and the number of both
+     */
+    ResourceVersion findVersion(Specification<Category> specification);
+
+    /**
+     * Finds a page of category rows matching the specification, selecting only the given attributes.
+     *
+     * @param specification the filter of the rows
+     * @param pageable      the pagination and sorting configuration
+     * @param attributes    the entity attribute paths to select
+     * @return a page of rows keyed by attribute path
+     */
+    Page<Map<String, Object>> findAllAttributes(Specification<Category> specification, Pageable pageable, Collection<String> attributes);
+}
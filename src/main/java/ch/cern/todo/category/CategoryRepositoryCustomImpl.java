@@ -0,0 +1,59 @@
+package ch.cern.todo.category;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import ch.cern.todo.searchEngine.ProjectionQueryHelper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Map;
+
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public CategoryRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public ResourceVersion findVersion(Specification<Category> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Category> root = query.from(Category.class);
+        Join<Category, Task> tasks = root.join("tasks", JoinType.LEFT);
+        query.multiselect(
+                builder.greatest(root.<Timestamp>get("processedFrom")),
+                builder.greatest(tasks.<Timestamp>get("processedFrom")),
+                builder.countDistinct(root.get("id")),
+                builder.countDistinct(tasks.get("id"))
+        );
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Tuple result = entityManager.createQuery(query).getSingleResult();
+        // Removals only ever lower the sum of both counts, everything else moves the timestamp forward.
+        return new ResourceVersion(result.get(0, Timestamp.class), result.get(1, Timestamp.class),
+                result.get(2, Long.class) + result.get(3, Long.class));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllAttributes(Specification<Category> specification, Pageable pageable, Collection<String> attributes) {
+        return ProjectionQueryHelper.findAll(entityManager, Category.class, specification, pageable, attributes);
+    }
+}
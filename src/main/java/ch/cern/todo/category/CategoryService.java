@@ -2,10 +2,12 @@ package ch.cern.todo.category;
 
 import ch.cern.todo.category.dataModels.CategoryResource;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.web.dataModels.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing categories.
@@ -24,6 +26,29 @@ public interface CategoryService {
      */
     Page<CategoryResource> getAllCategories(Pageable pageable, List<SearchCriteria> searchCriteriaList);
 
+    /**
+     * Retrieves a paginated list of categories containing only the requested {@link CategoryResource} properties.
+     * <p>
+     * Tasks are only loaded when the {@code tasks} property is requested; otherwise only the columns backing
+     * the requested properties are selected.
+     * </p>
+     *
+     * @param pageable           the pagination and sorting information
+     * @param searchCriteriaList a list of search criteria to filter the categories
+     * @param fields             the names of the requested {@link CategoryResource} properties
+     * @return a {@link org.springframework.data.domain.Page} of property maps in {@link CategoryResource} order
+     */
+    Page<Map<String, Object>> getAllCategories(Pageable pageable, List<SearchCriteria> searchCriteriaList, List<String> fields);
+
+    /**
+     * Retrieves the version of the set of categories matching the search criteria, including their tasks,
+     * without loading them.
+     *
+     * @param searchCriteriaList a list of search criteria to filter the categories
+     * @return the {@link ResourceVersion} of the matching categories
+     */
+    ResourceVersion getAllCategoriesVersion(List<SearchCriteria> searchCriteriaList);
+
     /**
      * Retrieves a single category by its name.
      *
@@ -32,6 +57,22 @@ public interface CategoryService {
      */
     CategoryResource getCategory(String categoryName);
 
+    /**
+     * Retrieves the version of a single category, including its tasks, without loading it.
+     *
+     * @param categoryName the name of the category
+     * @return the {@link ResourceVersion} of the category, or {@code null} if no category is found
+     */
+    ResourceVersion getCategoryVersion(String categoryName);
+
+    /**
+     * Retrieves several categories with their tasks by name with a single query.
+     *
+     * @param categoryNames the names of the categories to retrieve
+     * @return the found categories as {@link CategoryResource} objects in request order; unknown categories are skipped
+     */
+    List<CategoryResource> getCategories(List<String> categoryNames);
+
     /**
      * Saves a new category.
      *
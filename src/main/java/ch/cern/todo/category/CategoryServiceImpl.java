@@ -1,15 +1,25 @@
 package ch.cern.todo.category;
 
 import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryField;
 import ch.cern.todo.category.dataModels.CategoryResource;
 import ch.cern.todo.category.dataModels.CategoryStatus;
+import ch.cern.todo.coalescing.Coalesced;
 import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.lanes.RunInLane;
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import ch.cern.todo.metrics.SearchMetrics;
 import ch.cern.todo.searchEngine.CategorySearchEngineService;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.stream.ChangeStreamService;
+import ch.cern.todo.stream.dataModels.ChangeEvent;
 import ch.cern.todo.tasks.TaskService;
 import ch.cern.todo.tasks.dataModels.Task;
 import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.timing.RequestTiming;
+import ch.cern.todo.timing.dataModels.TimingPhase;
 import ch.cern.todo.validation.InputFieldValidator;
+import ch.cern.todo.web.dataModels.ResourceVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,27 +30,113 @@ import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
     private static final String CATEGORY = "Category";
+    static final int MAX_BULK_SIZE = 1000;
+    private static final String SEARCH_ENTITY = "category";
+    private static final Set<String> SEARCH_KEYS = Set.of(CategoryField.ID.getName(), CategoryField.NAME.getName(),
+            CategoryField.DESCRIPTION.getName());
 
     private final CategoryRepository categoryRepository;
     private final TaskService taskService;
+    private final ChangeStreamService changeStreamService;
+    private final SearchMetrics searchMetrics;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, TaskService taskService) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, TaskService taskService, ChangeStreamService changeStreamService,
+                               SearchMetrics searchMetrics) {
         this.categoryRepository = categoryRepository;
         this.taskService = taskService;
+        this.changeStreamService = changeStreamService;
+        this.searchMetrics = searchMetrics;
     }
 
     @Override
+    @Coalesced
+    @RunInLane(value = WorkloadLane.BULK, largePagesOnly = true)
     public Page<CategoryResource> getAllCategories(Pageable pageable, List<SearchCriteria> searchCriteriaList) {
         logger.debug("Entering getAllCategories with pageable: {} and searchCriteria: {}", pageable, searchCriteriaList);
 
+        Page<Category> categories = categoryRepository.findAll(buildSearchSpecification(searchCriteriaList), pageable);
+        searchMetrics.recordResults(SEARCH_ENTITY, categories.getNumberOfElements(), categories.getTotalElements());
+        logger.info("Retrieved {} categories", categories.getTotalElements());
+
+        long mappingStart = RequestTiming.start();
+        Page<CategoryResource> resources = categories.map(Category::transferToResource);
+        RequestTiming.stop(TimingPhase.MAPPING, mappingStart);
+        return resources;
+    }
+
+    @Override
+    @Coalesced
+    @RunInLane(value = WorkloadLane.BULK, largePagesOnly = true)
+    public Page<Map<String, Object>> getAllCategories(Pageable pageable, List<SearchCriteria> searchCriteriaList, List<String> fields) {
+        logger.debug("Entering getAllCategories with pageable: {}, searchCriteria: {} and fields: {}", pageable, searchCriteriaList, fields);
+        Set<CategoryField> categoryFields = parseFields(fields);
+        if (categoryFields.contains(CategoryField.TASKS)) {
+            return getAllCategories(pageable, searchCriteriaList).map(resource -> toSparseResource(resource, categoryFields));
+        }
+        List<String> attributes = categoryFields.stream().map(CategoryField::getName).toList();
+        Page<Map<String, Object>> categories = categoryRepository.findAllAttributes(buildSearchSpecification(searchCriteriaList), pageable, attributes);
+        searchMetrics.recordResults(SEARCH_ENTITY, categories.getNumberOfElements(), categories.getTotalElements());
+        logger.info("Retrieved {} categories", categories.getTotalElements());
+        return categories;
+    }
+
+    private static Set<CategoryField> parseFields(List<String> fields) {
+        Set<CategoryField> categoryFields = EnumSet.noneOf(CategoryField.class);
+        for (String field : fields) {
+            CategoryField categoryField = CategoryField.getByName(field);
+            if (categoryField == null) {
+                throw new ValidationException("Unknown category field: " + field);
+            }
+            categoryFields.add(categoryField);
+        }
+        if (categoryFields.isEmpty()) {
+            throw new ValidationException("At least one category field must be requested");
+        }
+        return categoryFields;
+    }
+
+    private static Map<String, Object> toSparseResource(CategoryResource categoryResource, Set<CategoryField> categoryFields) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        for (CategoryField categoryField : categoryFields) {
+            Object value = switch (categoryField) {
+                case ID -> categoryResource.id();
+                case NAME -> categoryResource.name();
+                case DESCRIPTION -> categoryResource.description();
+                case TASKS -> categoryResource.tasks();
+            };
+            resource.put(categoryField.getName(), value);
+        }
+        return resource;
+    }
+
+    @Override
+    public ResourceVersion getAllCategoriesVersion(List<SearchCriteria> searchCriteriaList) {
+        logger.debug("Retrieving version of categories matching searchCriteria: {}", searchCriteriaList);
+        return categoryRepository.findVersion(buildSpecification(searchCriteriaList));
+    }
+
+    private Specification<Category> buildSearchSpecification(List<SearchCriteria> searchCriteriaList) {
+        return searchMetrics.instrument(SEARCH_ENTITY, SEARCH_KEYS, searchCriteriaList, buildSpecification(searchCriteriaList));
+    }
+
+    private Specification<Category> buildSpecification(List<SearchCriteria> searchCriteriaList) {
         Specification<Category> baseSpec = (root, query, builder) -> builder.and(
                 builder.notEqual(root.get("status"), CategoryStatus.DELETED),
                 builder.equal(root.get("processedTo"), Timestamp.valueOf("9999-12-31 12:00:00"))
@@ -50,14 +146,11 @@ public class CategoryServiceImpl implements CategoryService {
         for (SearchCriteria criteria : searchCriteriaList) {
             dynamicSpec = dynamicSpec.and(new CategorySearchEngineService(criteria));
         }
-
-        Page<Category> categories = categoryRepository.findAll(baseSpec.and(dynamicSpec), pageable);
-        logger.info("Retrieved {} categories", categories.getTotalElements());
-
-        return categories.map(Category::transferToResource);
+        return baseSpec.and(dynamicSpec);
     }
 
     @Override
+    @Coalesced
     public CategoryResource getCategory(String categoryName) {
         logger.debug("Retrieving category with name: {}", categoryName);
         Category category = categoryRepository.findByCategoryNameAndProcessedTo(categoryName).orElse(null);
@@ -73,12 +166,48 @@ public class CategoryServiceImpl implements CategoryService {
         return category.transferToResource(tasksWithDetails);
     }
 
+    @Override
+    public ResourceVersion getCategoryVersion(String categoryName) {
+        return categoryRepository.findVersionByCategoryName(categoryName).orElse(null);
+    }
+
+    @Override
+    public List<CategoryResource> getCategories(List<String> categoryNames) {
+        logger.debug("Retrieving categories with names: {}", categoryNames);
+        if (categoryNames == null || categoryNames.isEmpty() || categoryNames.size() > MAX_BULK_SIZE) {
+            throw new ValidationException("Number of category names must be between 1 and " + MAX_BULK_SIZE);
+        }
+        Map<String, Category> categoriesByName = categoryRepository.findAllByCategoryNameInAndProcessedTo(new LinkedHashSet<>(categoryNames))
+                .stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        List<Category> categories = new LinkedHashSet<>(categoryNames).stream()
+                .map(categoriesByName::get)
+                .filter(Objects::nonNull)
+                .toList();
+        // Resolve the user names of all tasks of all categories in one lookup.
+        List<TaskResource> taskResources = taskService.mapToResourcesWithFullNames(categories.stream()
+                .flatMap(category -> category.getTasks().stream())
+                .toList());
+        Iterator<TaskResource> taskResourceIterator = taskResources.iterator();
+        List<CategoryResource> result = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            List<TaskResource> tasksWithDetails = new ArrayList<>(category.getTasks().size());
+            for (int i = 0; i < category.getTasks().size(); i++) {
+                tasksWithDetails.add(taskResourceIterator.next());
+            }
+            result.add(category.transferToResource(tasksWithDetails));
+        }
+        logger.info("Retrieved {} of {} requested categories", result.size(), categoryNames.size());
+        return result;
+    }
+
     @Override
     public CategoryResource saveCategory(CategoryResource categoryResource) {
         logger.debug("Saving new category with name: {}", categoryResource.name());
         validateNewCategoryInput(categoryResource);
         Category categoryToSave = categoryResource.transferToNewEntity();
         Category savedCategory = categoryRepository.save(categoryToSave);
+        changeStreamService.publish(ChangeEvent.from(savedCategory));
         logger.info("Category saved with ID: {}", savedCategory.getId());
         return savedCategory.transferToResource();
     }
@@ -100,6 +229,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @RunInLane(WorkloadLane.BULK)
     public CategoryResource updateDetails(CategoryResource categoryResource) {
         logger.debug("Updating details for category with ID: {}", categoryResource.id());
         Category existingCategory = categoryRepository.findByIdAndProcessedTo(categoryResource.id()).orElse(null);
@@ -130,6 +260,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @RunInLane(WorkloadLane.BULK)
     public void deleteCategory(String id) {
         logger.debug("Deleting category with ID: {}", id);
         Category existingCategory = categoryRepository.findByIdAndProcessedTo(id).orElse(null);
@@ -151,6 +282,8 @@ public class CategoryServiceImpl implements CategoryService {
         existingCategory.closeCategoryEntity();
         categoryRepository.save(existingCategory);
         logger.debug("Saving updated category data for ID: {}", existingCategory.getId());
-        return categoryRepository.save(categoryWithUpdatedData);
+        Category savedCategory = categoryRepository.save(categoryWithUpdatedData);
+        changeStreamService.publish(ChangeEvent.from(savedCategory));
+        return savedCategory;
     }
 }
@@ -0,0 +1,30 @@
+package ch.cern.todo.category.dataModels;
+
+import java.util.Arrays;
+
+/**
+ * Properties of {@link CategoryResource} that can be requested as a sparse fieldset.
+ */
+public enum CategoryField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    TASKS("tasks");
+
+    private final String name;
+
+    CategoryField(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public static CategoryField getByName(String name){
+        return Arrays.stream(values())
+                .filter(field -> field.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,18 @@
+package ch.cern.todo.coalescing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces identical concurrent calls of a read-only service method, see {@link SingleFlight}.
+ * <p>
+ * Calls are identical when their arguments are equal and their callers hold the same authorities. All callers
+ * receive the same result instance, so it must not be modified.
+ * </p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,63 @@
+package ch.cern.todo.coalescing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces calls of methods annotated with {@link Coalesced} through {@link SingleFlight}.
+ * <p>
+ * Runs ahead of the workload lanes, so identical bulk reads take a single slot of the bulk lane. Calls made inside
+ * a transaction may depend on its uncommitted changes and always run on their own.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class CoalescingAspect {
+
+    private final SingleFlight singleFlight;
+
+    @Autowired
+    public CoalescingAspect(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Around("@annotation(ch.cern.todo.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!singleFlight.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        FlightKey key = new FlightKey(method, Arrays.asList(joinPoint.getArgs()), authorities());
+        return singleFlight.execute(key, joinPoint::proceed);
+    }
+
+    private static Set<String> authorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Set.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private record FlightKey(Method method, List<Object> arguments, Set<String> authorities) {
+    }
+}
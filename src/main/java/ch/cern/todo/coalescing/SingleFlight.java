@@ -0,0 +1,123 @@
+package ch.cern.todo.coalescing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs at most one execution per key at a time: callers arriving while an execution with the same key is in
+ * flight wait for it and share its result or exception instead of running their own.
+ * <p>
+ * At most {@code todo.coalescing.max-waiters} callers wait for one execution; callers beyond that run their own
+ * execution, so a single slow execution cannot hold an unbounded number of request threads. Zero disables
+ * coalescing.
+ * </p>
+ */
+@Component
+public class SingleFlight {
+
+    private final int maxWaiters;
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    /**
+     * An execution that may throw whatever the coalesced method throws.
+     */
+    @FunctionalInterface
+    public interface Execution<T> {
+        T run() throws Throwable;
+    }
+
+    @Autowired
+    public SingleFlight(@Value("${todo.coalescing.max-waiters:100}") int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    public boolean isEnabled() {
+        return maxWaiters > 0;
+    }
+
+    /**
+     * Runs the execution, or waits for the one already in flight for the same key.
+     *
+     * @param key       identifies identical executions; must implement {@code equals} and {@code hashCode}
+     * @param execution runs when no identical execution is in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Execution<T> execution) throws Throwable {
+        Flight flight = new Flight();
+        Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            if (inFlight.waiters.incrementAndGet() > maxWaiters) {
+                inFlight.waiters.decrementAndGet();
+                overflows.incrementAndGet();
+                executions.incrementAndGet();
+                return execution.run();
+            }
+            coalesced.incrementAndGet();
+            return (T) await(inFlight.result);
+        }
+        executions.incrementAndGet();
+        try {
+            T result = execution.run();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws Throwable {
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * @return the number of executions that ran, whether they were waited for or not
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /**
+     * @return the number of calls served by waiting for an identical execution
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return the number of calls that ran their own execution because too many callers were waiting
+     */
+    public long getOverflows() {
+        return overflows.get();
+    }
+
+    /**
+     * @return the share of calls served without an execution of their own
+     */
+    public double getCoalescingRatio() {
+        long calls = executions.get() + coalesced.get();
+        return calls == 0 ? 0 : (double) coalesced.get() / calls;
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,89 @@
+package ch.cern.todo.jfr;
+
+import ch.cern.todo.jfr.dataModels.RecordingStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/jfr")
+public class JfrController {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    @Autowired
+    public JfrController(JfrRecordingService jfrRecordingService) {
+        this.jfrRecordingService = jfrRecordingService;
+    }
+
+    /**
+     * Starts a Java Flight Recorder recording including the task, category and search events.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param settings      the JFR configuration, {@code default} (low overhead) or {@code profile}.
+     * @param maxAgeMinutes how long recorded data is kept (default is 30 minutes).
+     * @return a ResponseEntity containing the RecordingStatus.
+     */
+    @PostMapping(value = "/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecordingStatus> start(@RequestParam(defaultValue = "default") String settings,
+                                                 @RequestParam(defaultValue = "30") long maxAgeMinutes) {
+        return ResponseEntity.ok(jfrRecordingService.start(settings, Duration.ofMinutes(maxAgeMinutes)));
+    }
+
+    /**
+     * Stops the running recording; its data can still be dumped.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity containing the RecordingStatus.
+     */
+    @PostMapping(value = "/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecordingStatus> stop() {
+        return ResponseEntity.ok(jfrRecordingService.stop());
+    }
+
+    /**
+     * Retrieves the state of the current recording.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity containing the RecordingStatus.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecordingStatus> getStatus() {
+        return ResponseEntity.ok(jfrRecordingService.getStatus());
+    }
+
+    /**
+     * Downloads the data recorded so far as a {@code .jfr} file, to be opened in JDK Mission Control.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity streaming the recording.
+     */
+    @GetMapping(value = "/dump")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> dump() {
+        jfrRecordingService.getStatus();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todo.jfr\"")
+                .body(jfrRecordingService::dump);
+    }
+}
@@ -0,0 +1,109 @@
+package ch.cern.todo.jfr;
+
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.jfr.dataModels.RecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Manages one on-demand Java Flight Recorder recording that includes the application's own events.
+ */
+@Service
+public class JfrRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    static final String[] APPLICATION_EVENTS = {
+            "ch.cern.todo.TaskOperation", "ch.cern.todo.CategoryOperation", "ch.cern.todo.SearchPredicate"};
+
+    private Recording recording;
+    private String settings;
+
+    /**
+     * Starts a new recording, replacing a stopped one.
+     *
+     * @param settings the JFR configuration to use, {@code default} or {@code profile}
+     * @param maxAge   how long recorded data is kept
+     */
+    public synchronized RecordingStatus start(String settings, Duration maxAge) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ValidationException("A JFR recording is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException ex) {
+            throw new ValidationException("Unknown JFR settings: " + settings);
+        }
+        close();
+        recording = new Recording(configuration);
+        for (String event : APPLICATION_EVENTS) {
+            recording.enable(event).withThreshold(Duration.ZERO);
+        }
+        recording.setName("todo");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.start();
+        this.settings = settings;
+        logger.info("Started JFR recording {} with {} settings", recording.getId(), settings);
+        return getStatus();
+    }
+
+    public synchronized RecordingStatus stop() {
+        Recording current = current();
+        if (current.getState() != RecordingState.RUNNING) {
+            throw new ValidationException("The JFR recording is not running");
+        }
+        current.stop();
+        logger.info("Stopped JFR recording {}", current.getId());
+        return getStatus();
+    }
+
+    public synchronized RecordingStatus getStatus() {
+        Recording current = current();
+        return new RecordingStatus(current.getId(), current.getState().name(), settings, current.getStartTime(),
+                current.getSize());
+    }
+
+    /**
+     * Writes the data recorded so far in the JFR file format; the recording keeps running.
+     */
+    public void dump(OutputStream outputStream) throws IOException {
+        Path file = Files.createTempFile("todo-", ".jfr");
+        try {
+            synchronized (this) {
+                current().dump(file);
+            }
+            Files.copy(file, outputStream);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Recording current() {
+        if (recording == null) {
+            throw new ValidationException("No JFR recording has been started");
+        }
+        return recording;
+    }
+}
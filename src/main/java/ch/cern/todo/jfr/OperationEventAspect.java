@@ -0,0 +1,94 @@
+package ch.cern.todo.jfr;
+
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.jfr.dataModels.CategoryOperationEvent;
+import ch.cern.todo.jfr.dataModels.OperationEvent;
+import ch.cern.todo.jfr.dataModels.TaskOperationEvent;
+import ch.cern.todo.metrics.SqlStatementInspector;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Emits a JFR event for every task and category service call, so profiles can be attributed to business operations.
+ * <p>
+ * Events are only enabled while a recording includes them; when they are not, the only cost is the
+ * {@link OperationEvent#isEnabled()} check on an event the JIT does not even allocate.
+ * </p>
+ */
+@Aspect
+@Component
+public class OperationEventAspect {
+
+    @Around("execution(public * ch.cern.todo.tasks.TaskServiceImpl.*(..))")
+    public Object recordTaskOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new TaskOperationEvent(), joinPoint);
+    }
+
+    @Around("execution(public * ch.cern.todo.category.CategoryServiceImpl.*(..))")
+    public Object recordCategoryOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new CategoryOperationEvent(), joinPoint);
+    }
+
+    private Object record(OperationEvent event, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long sqlBefore = SqlStatementInspector.currentThreadCount();
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.sqlCount = SqlStatementInspector.currentThreadCount() - sqlBefore;
+                describeArguments(event, joinPoint.getArgs());
+                event.rows = rows(result);
+                if (event.entityId == null && result instanceof TaskResource resource) {
+                    event.entityId = resource.id();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private static void describeArguments(OperationEvent event, Object[] arguments) {
+        for (Object argument : arguments) {
+            if (event.entityId == null && argument instanceof String id) {
+                event.entityId = id;
+            } else if (event.entityId == null && argument instanceof TaskResource resource) {
+                event.entityId = resource.id();
+            } else if (event.entityId == null && argument instanceof CategoryResource resource) {
+                event.entityId = resource.name();
+            } else if (argument instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof SearchCriteria) {
+                event.criteriaCount = list.size();
+            }
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Page<?> page) {
+            return page.getNumberOfElements();
+        } else if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return 1;
+    }
+}
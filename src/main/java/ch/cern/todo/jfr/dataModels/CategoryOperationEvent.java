@@ -0,0 +1,9 @@
+package ch.cern.todo.jfr.dataModels;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ch.cern.todo.CategoryOperation")
+@Label("Category Operation")
+public class CategoryOperationEvent extends OperationEvent {
+}
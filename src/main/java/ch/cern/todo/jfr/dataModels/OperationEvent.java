@@ -0,0 +1,35 @@
+package ch.cern.todo.jfr.dataModels;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Fields shared by the business operation events; the duration is recorded by JFR itself.
+ */
+@Category({"Todo", "Operations"})
+public abstract class OperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Service method that was called")
+    public String operation;
+
+    @Label("Entity Id")
+    @Description("Id or name of the task or category the operation worked on, if any")
+    public String entityId;
+
+    @Label("Criteria Count")
+    public int criteriaCount;
+
+    @Label("Rows")
+    @Description("Resources returned or changed by the operation")
+    public long rows;
+
+    @Label("SQL Count")
+    @Description("SQL statements prepared by Hibernate during the operation")
+    public long sqlCount;
+
+    @Label("Failed")
+    public boolean failed;
+}
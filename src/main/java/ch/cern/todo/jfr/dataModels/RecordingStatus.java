@@ -0,0 +1,15 @@
+package ch.cern.todo.jfr.dataModels;
+
+import java.time.Instant;
+
+/**
+ * State of the recording managed through the JFR endpoint.
+ *
+ * @param id        the JFR recording id
+ * @param state     NEW, RUNNING, STOPPED or CLOSED
+ * @param settings  the JFR configuration the recording was started with, e.g. {@code profile}
+ * @param startTime when the recording started
+ * @param size      bytes recorded so far
+ */
+public record RecordingStatus(long id, String state, String settings, Instant startTime, long size) {
+}
@@ -0,0 +1,26 @@
+package ch.cern.todo.jfr.dataModels;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building the JPA predicates of a search from its criteria.
+ */
+@Name("ch.cern.todo.SearchPredicate")
+@Label("Search Predicate")
+@Category({"Todo", "Search"})
+public class SearchPredicateEvent extends Event {
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Criteria Count")
+    public int criteriaCount;
+
+    @Label("Criteria")
+    @Description("Keys and operators of the criteria, without their values")
+    public String criteria;
+}
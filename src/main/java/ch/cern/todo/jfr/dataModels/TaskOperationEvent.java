@@ -0,0 +1,9 @@
+package ch.cern.todo.jfr.dataModels;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ch.cern.todo.TaskOperation")
+@Label("Task Operation")
+public class TaskOperationEvent extends OperationEvent {
+}
@@ -0,0 +1,44 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Replaces the single connection pool with one sub-pool per {@link WorkloadLane}, both connecting with the
+ * {@code spring.datasource.*} settings. The interactive pool has {@code spring.datasource.hikari.maximum-pool-size}
+ * connections, the bulk pool {@code todo.lanes.bulk.pool-size}; their usage is published as the
+ * {@code hikaricp.*} meters of the pools {@code interactive} and {@code bulk}.
+ */
+@Configuration
+public class LaneDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int interactivePoolSize,
+                                 @Value("${todo.lanes.bulk.pool-size:2}") int bulkPoolSize) {
+        Map<WorkloadLane, HikariDataSource> pools = new EnumMap<>(WorkloadLane.class);
+        pools.put(WorkloadLane.INTERACTIVE, pool(properties, meterRegistry, WorkloadLane.INTERACTIVE, interactivePoolSize));
+        pools.put(WorkloadLane.BULK, pool(properties, meterRegistry, WorkloadLane.BULK, bulkPoolSize));
+        return new LaneRoutingDataSource(pools);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+                                         WorkloadLane lane, int size) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(lane.getName());
+        pool.setMaximumPoolSize(size);
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
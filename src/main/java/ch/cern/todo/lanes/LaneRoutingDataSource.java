@@ -0,0 +1,33 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the {@link WorkloadLaneExecutor#currentLane() current lane}.
+ */
+public class LaneRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<WorkloadLane, HikariDataSource> pools;
+
+    public LaneRoutingDataSource(Map<WorkloadLane, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(WorkloadLane.INTERACTIVE));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadLaneExecutor.currentLane();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,24 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method in the given workload lane, see {@link WorkloadLaneExecutor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RunInLane {
+
+    WorkloadLane value();
+
+    /**
+     * Whether only calls reading a page of at least {@code todo.lanes.bulk.min-page-size} items, or an unpaged
+     * result, run in the lane; smaller pages stay interactive.
+     */
+    boolean largePagesOnly() default false;
+}
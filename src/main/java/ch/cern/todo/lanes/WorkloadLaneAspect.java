@@ -0,0 +1,71 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Moves methods annotated with {@link RunInLane} into their lane.
+ * <p>
+ * Runs ahead of every other advice (only behind {@link ExposeInvocationInterceptor} and request coalescing), so
+ * transactions, metrics and JFR events of the method all happen inside the lane. The invocation is exposed again on the lane's thread for the
+ * advices that follow. The lane is also recorded on the current request, see {@link #REQUEST_ATTRIBUTE}.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class WorkloadLaneAspect {
+
+    /**
+     * Request attribute holding the {@link WorkloadLane} a request ran its work in, when not interactive.
+     */
+    public static final String REQUEST_ATTRIBUTE = WorkloadLaneAspect.class.getName() + ".lane";
+
+    private final WorkloadLaneExecutor executor;
+    private final int minPageSize;
+
+    @Autowired
+    public WorkloadLaneAspect(WorkloadLaneExecutor executor,
+                              @Value("${todo.lanes.bulk.min-page-size:500}") int minPageSize) {
+        this.executor = executor;
+        this.minPageSize = minPageSize;
+    }
+
+    @Around("@annotation(runInLane)")
+    public Object runInLane(ProceedingJoinPoint joinPoint, RunInLane runInLane) throws Throwable {
+        WorkloadLane lane = runInLane.largePagesOnly() && !readsLargePage(joinPoint.getArgs())
+                ? WorkloadLane.INTERACTIVE
+                : runInLane.value();
+        if (lane == WorkloadLane.INTERACTIVE || !executor.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, lane, RequestAttributes.SCOPE_REQUEST);
+        }
+        MethodInvocation invocation = ((ProxyMethodInvocation) ExposeInvocationInterceptor.currentInvocation()).invocableClone();
+        return executor.execute(lane, () -> ExposeInvocationInterceptor.INSTANCE.invoke(invocation));
+    }
+
+    private boolean readsLargePage(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Pageable pageable) {
+                return pageable.isUnpaged() || pageable.getPageSize() >= minPageSize;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.exceptions.ServiceOverloadedException;
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import ch.cern.todo.timing.RequestTiming;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps bulk and administrative work from starving interactive requests.
+ * <p>
+ * Interactive work runs on the request thread. Bulk work runs on a small dedicated pool
+ * ({@code todo.lanes.bulk.threads}) behind a bounded queue ({@code todo.lanes.bulk.queue-capacity}) while the request
+ * thread waits; when the queue is full the request fails fast with a {@link ServiceOverloadedException}. The lane of
+ * the running work selects the connection pool it uses, see {@link LaneRoutingDataSource}, so at most the threads
+ * of the bulk lane hold bulk connections and interactive requests always find a connection of their own.
+ * </p>
+ * <p>
+ * Work already running in the bulk lane, or inside a transaction that must not be left, runs in place. With
+ * {@code todo.lanes.enabled=false} everything runs interactively.
+ * </p>
+ */
+@Component
+public class WorkloadLaneExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadLaneExecutor.class);
+    private static final ThreadLocal<WorkloadLane> CURRENT_LANE = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Work that may throw whatever the intercepted method throws.
+     */
+    @FunctionalInterface
+    public interface LaneWork<T> {
+        T run() throws Throwable;
+    }
+
+    @Autowired
+    public WorkloadLaneExecutor(@Value("${todo.lanes.enabled:true}") boolean enabled,
+                                @Value("${todo.lanes.bulk.threads:2}") int bulkThreads,
+                                @Value("${todo.lanes.bulk.queue-capacity:16}") int bulkQueueCapacity) {
+        this.enabled = enabled;
+        AtomicInteger sequence = new AtomicInteger();
+        this.bulkExecutor = new ThreadPoolExecutor(bulkThreads, bulkThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity),
+                runnable -> Thread.ofPlatform().name("lane-bulk-" + sequence.incrementAndGet()).daemon().unstarted(runnable));
+    }
+
+    /**
+     * @return the lane of the work running on the current thread
+     */
+    public static WorkloadLane currentLane() {
+        WorkloadLane lane = CURRENT_LANE.get();
+        return lane != null ? lane : WorkloadLane.INTERACTIVE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs work in a lane and waits for its result.
+     *
+     * @throws ServiceOverloadedException when the lane cannot accept more work
+     */
+    public <T> T execute(WorkloadLane lane, LaneWork<T> work) throws Throwable {
+        if (!enabled || lane == WorkloadLane.INTERACTIVE || currentLane() == lane
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.run();
+        }
+        Callable<T> task = new DelegatingSecurityContextCallable<>(RequestTiming.propagate(() -> runInLane(lane, work)));
+        Future<T> future;
+        try {
+            future = bulkExecutor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            logger.warn("The {} lane is saturated, rejecting work", lane.getName());
+            throw new ServiceOverloadedException("Too many " + lane.getName() + " operations in progress, try again later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static <T> T runInLane(WorkloadLane lane, LaneWork<T> work) throws Exception {
+        CURRENT_LANE.set(lane);
+        try {
+            return work.run();
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            CURRENT_LANE.remove();
+        }
+    }
+
+    public int getBulkActive() {
+        return bulkExecutor.getActiveCount();
+    }
+
+    public int getBulkQueued() {
+        return bulkExecutor.getQueue().size();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package ch.cern.todo.lanes.dataModels;
+
+public enum WorkloadLane {
+    INTERACTIVE("interactive"),
+    BULK("bulk");
+
+    private final String name;
+
+    WorkloadLane(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return name;
+    }
+}
@@ -0,0 +1,127 @@
+package ch.cern.todo.limits;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global limit on the number of requests processed at the same time, adapted to the observed latency.
+ * <p>
+ * A long-term average of the response time serves as the latency of the unloaded service. While the short-term
+ * average stays within {@code todo.concurrency-limit.rtt-tolerance} times of it, the limit grows by about its
+ * square root; once requests queue up (on the connection pool, a lock or the CPU) latency rises and the limit
+ * shrinks by the same ratio, down to half per sample (gradient). A request failing with an exception or timing out
+ * cuts the limit by a tenth (multiplicative decrease). Samples taken while less than half of the limit was in
+ * use say nothing about the limit and are ignored. A maximum of zero disables the limiter.
+ * </p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final int longWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${todo.concurrency-limit.initial:20}") int initialLimit,
+                                      @Value("${todo.concurrency-limit.min:4}") int minLimit,
+                                      @Value("${todo.concurrency-limit.max:200}") int maxLimit,
+                                      @Value("${todo.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${todo.concurrency-limit.long-window:600}") int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = longWindow;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean isEnabled() {
+        return maxLimit > 0;
+    }
+
+    /**
+     * Admits a request when fewer requests than the current limit are in flight; an admitted request must be
+     * {@link #release(long, boolean) released} when it completes.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its response time.
+     *
+     * @param rttNanos the time the request took
+     * @param dropped  whether the request failed with an exception or timed out
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(rttNanos, inFlightBefore, dropped);
+    }
+
+    /**
+     * Releases an admitted request without adapting the limit, for requests whose response time does not reflect
+     * the load, such as exports or work waiting for the bulk lane.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBefore, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        // After a long overload the baseline has drifted up; pull it back quickly once latency recovers.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightBefore < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
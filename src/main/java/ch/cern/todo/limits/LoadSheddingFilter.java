@@ -0,0 +1,173 @@
+package ch.cern.todo.limits;
+
+import ch.cern.todo.exceptions.ErrorResponse;
+import ch.cern.todo.lanes.WorkloadLaneAspect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds excess load on the API instead of queueing it: a principal over its {@link TokenBucketRateLimiter rate
+ * limit} gets {@code 429 Too Many Requests}, and any request over the {@link AdaptiveConcurrencyLimiter concurrency
+ * limit} gets {@code 503 Service Unavailable}, both with a {@code Retry-After} header.
+ * <p>
+ * Added to the security filter chain right after authentication, so requests are limited per authenticated user
+ * (anonymous requests per remote address) and rejected credentials never take a slot. Asynchronous requests such as
+ * exports keep their slot until they complete; the change stream is excluded, as its connections stay open.
+ * Only the response times of interactive requests adapt the concurrency limit: asynchronous requests and requests
+ * that ran in the bulk lane take as long as their data or their lane's queue, not the server's load.
+ * </p>
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final List<String> pathPrefixes;
+    private final List<String> excludedPaths;
+
+    @Autowired
+    public LoadSheddingFilter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                              ObjectMapper objectMapper,
+                              @Value("${todo.load-shedding.paths:/task,/category,/sync}") String[] pathPrefixes,
+                              @Value("${todo.load-shedding.exclude-paths:/task/stream}") String[] excludedPaths) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.pathPrefixes = Arrays.asList(pathPrefixes);
+        this.excludedPaths = Arrays.asList(excludedPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPrefixes.stream().noneMatch(path::startsWith) || excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimiter.isEnabled()) {
+            String principal = principal(request);
+            long waitNanos = rateLimiter.tryAcquire(principal);
+            if (waitNanos > 0) {
+                logger.debug("Rate limit exceeded by {}", principal);
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+                return;
+            }
+        }
+        if (!concurrencyLimiter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            logger.debug("Concurrency limit of {} reached", concurrencyLimiter.getLimit());
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded",
+                    CONCURRENCY_RETRY_AFTER_SECONDS);
+            return;
+        }
+        Slot slot = new Slot(System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            slot.release(true);
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            slot.sampled = false;
+            request.getAsyncContext().addListener(slot);
+        } else {
+            slot.sampled = request.getAttribute(WorkloadLaneAspect.REQUEST_ATTRIBUTE) == null;
+            slot.release(false);
+        }
+    }
+
+    private static String principal(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message,
+                        long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(message, status.value(), request.getRequestURI()));
+    }
+
+    /**
+     * The concurrency slot of one request, released exactly once, also when an asynchronous request completes.
+     */
+    private final class Slot implements AsyncListener {
+
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean sampled = true;
+
+        private Slot(long start) {
+            this.start = start;
+        }
+
+        private void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (sampled) {
+                concurrencyLimiter.release(System.nanoTime() - start, dropped);
+            } else {
+                concurrencyLimiter.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ch.cern.todo.limits;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-principal token buckets: every principal may send {@code todo.rate-limit.permits-per-second} requests per
+ * second on average and bursts of up to {@code todo.rate-limit.burst} requests.
+ * <p>
+ * Buckets are created on the first request of a principal and dropped once they are full again, so only principals
+ * that were active recently are kept. A rate of zero disables the limiter.
+ * </p>
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public TokenBucketRateLimiter(@Value("${todo.rate-limit.permits-per-second:50}") double permitsPerSecond,
+                                  @Value("${todo.rate-limit.burst:100}") int burst) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+        this.burst = burst;
+    }
+
+    public boolean isEnabled() {
+        return permitsPerNano > 0 && burst > 0;
+    }
+
+    /**
+     * Takes a permit from the bucket of a principal.
+     *
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire(String principal) {
+        long waitNanos = buckets.computeIfAbsent(principal, p -> new Bucket(burst, System.nanoTime()))
+                .tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            rejected.incrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public int getPrincipals() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerNano));
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.cache.SerializedResponseCache;
+import ch.cern.todo.coalescing.SingleFlight;
+import ch.cern.todo.lanes.WorkloadLaneExecutor;
+import ch.cern.todo.limits.AdaptiveConcurrencyLimiter;
+import ch.cern.todo.limits.TokenBucketRateLimiter;
+import ch.cern.todo.outbox.OutboxDispatcher;
+import ch.cern.todo.security.AuthenticationResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the statistics the application already keeps as meters, read only when they are scraped, and counts
+ * the SQL statements issued per thread.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(SerializedResponseCache cache) {
+        return registry -> {
+            FunctionCounter.builder("todo.cache.response.hits", cache, c -> c.getStats().hits()).register(registry);
+            FunctionCounter.builder("todo.cache.response.misses", cache, c -> c.getStats().misses()).register(registry);
+            FunctionCounter.builder("todo.cache.response.evictions", cache, c -> c.getStats().evictions()).register(registry);
+            Gauge.builder("todo.cache.response.entries", cache, c -> c.getStats().entries()).register(registry);
+            Gauge.builder("todo.cache.response.bytes", cache, c -> c.getStats().bytes()).baseUnit("bytes").register(registry);
+            Gauge.builder("todo.cache.response.hit.ratio", cache, c -> c.getStats().hitRate()).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authenticationCacheMetrics(AuthenticationResultCache cache) {
+        return registry -> {
+            FunctionCounter.builder("todo.security.auth.cache.hits", cache, AuthenticationResultCache::getHits).register(registry);
+            FunctionCounter.builder("todo.security.auth.cache.misses", cache, AuthenticationResultCache::getMisses).register(registry);
+            Gauge.builder("todo.security.auth.cache.entries", cache, AuthenticationResultCache::getSize).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loadSheddingMetrics(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return registry -> {
+            FunctionCounter.builder("todo.load-shedding.rejected", rateLimiter, TokenBucketRateLimiter::getRejected)
+                    .tag("reason", "rate-limit").register(registry);
+            FunctionCounter.builder("todo.load-shedding.rejected", concurrencyLimiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("reason", "concurrency-limit").register(registry);
+            Gauge.builder("todo.rate-limit.principals", rateLimiter, TokenBucketRateLimiter::getPrincipals).register(registry);
+            Gauge.builder("todo.concurrency-limit.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit).register(registry);
+            Gauge.builder("todo.concurrency-limit.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder workloadLaneMetrics(WorkloadLaneExecutor executor) {
+        return registry -> {
+            Gauge.builder("todo.lanes.active", executor, WorkloadLaneExecutor::getBulkActive).tag("lane", "bulk").register(registry);
+            Gauge.builder("todo.lanes.queued", executor, WorkloadLaneExecutor::getBulkQueued).tag("lane", "bulk").register(registry);
+            FunctionCounter.builder("todo.lanes.rejected", executor, WorkloadLaneExecutor::getRejected).tag("lane", "bulk").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder coalescingMetrics(SingleFlight singleFlight) {
+        return registry -> {
+            FunctionCounter.builder("todo.coalescing.executions", singleFlight, SingleFlight::getExecutions).register(registry);
+            FunctionCounter.builder("todo.coalescing.coalesced", singleFlight, SingleFlight::getCoalesced).register(registry);
+            FunctionCounter.builder("todo.coalescing.overflows", singleFlight, SingleFlight::getOverflows).register(registry);
+            Gauge.builder("todo.coalescing.ratio", singleFlight, SingleFlight::getCoalescingRatio).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder outboxMetrics(OutboxDispatcher dispatcher) {
+        return registry -> {
+            FunctionCounter.builder("todo.outbox.dispatched", dispatcher, OutboxDispatcher::getDispatchedCount).register(registry);
+            FunctionCounter.builder("todo.outbox.failed", dispatcher, OutboxDispatcher::getFailedCount).register(registry);
+            Gauge.builder("todo.outbox.pending", dispatcher, d -> d.getStats().pending()).register(registry);
+            Gauge.builder("todo.outbox.dead.lettered", dispatcher, d -> d.getStats().deadLettered()).register(registry);
+            Gauge.builder("todo.outbox.lag", dispatcher, OutboxDispatcher::getLastLagMillis).baseUnit("milliseconds").register(registry);
+        };
+    }
+}
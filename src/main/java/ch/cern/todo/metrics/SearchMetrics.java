@@ -0,0 +1,131 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.jfr.dataModels.SearchPredicateEvent;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.timing.RequestTiming;
+import ch.cern.todo.timing.dataModels.TimingPhase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics of the search engine: which criteria keys and operators are used, how long building the predicates
+ * takes and how many rows searches return.
+ * <p>
+ * Criteria come from clients, so keys outside the entity's known properties and unsupported operators are counted
+ * as {@code other} to keep the number of series bounded.
+ * </p>
+ */
+@Component
+public class SearchMetrics {
+
+    static final String CRITERIA_COUNTER = "todo.search.criteria";
+    static final String PREDICATE_TIMER = "todo.search.predicate";
+    static final String ROWS_SUMMARY = "todo.search.rows";
+    static final String MATCHES_SUMMARY = "todo.search.matches";
+    static final String OTHER = "other";
+
+    private static final Set<String> OPERATIONS = Set.of("=", "!=", ">", ">=", "<", "<=", ":", "LIKE");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<List<String>, Counter> criteriaCounters = new ConcurrentHashMap<>();
+    private final Map<String, EntityMeters> entityMeters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Counts the criteria of a search and returns the specification timed while it builds its predicates, also
+     * emitted as a {@link SearchPredicateEvent} while a JFR recording includes it.
+     *
+     * @param entity             the searched entity, e.g. {@code task}
+     * @param knownKeys          the criteria keys reported as they are
+     * @param searchCriteriaList the criteria of the search
+     * @param specification      the specification built from the criteria
+     */
+    public <T> Specification<T> instrument(String entity, Collection<String> knownKeys,
+                                           List<SearchCriteria> searchCriteriaList, Specification<T> specification) {
+        for (SearchCriteria criteria : searchCriteriaList) {
+            String key = knownKeys.contains(criteria.getKey()) ? criteria.getKey() : OTHER;
+            String operation = criteria.getOperation() == null ? OTHER : criteria.getOperation().toUpperCase(Locale.ROOT);
+            List<String> tags = List.of(entity, key, OPERATIONS.contains(operation) ? operation : OTHER);
+            criteriaCounters.computeIfAbsent(tags, this::criteriaCounter).increment();
+        }
+        Timer timer = meters(entity).predicate();
+        return (root, query, builder) -> {
+            SearchPredicateEvent event = new SearchPredicateEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long timingStart = RequestTiming.start();
+            try {
+                return specification.toPredicate(root, query, builder);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                RequestTiming.stop(TimingPhase.SEARCH_PLAN, timingStart);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.entity = entity;
+                    event.criteriaCount = searchCriteriaList.size();
+                    event.criteria = describe(searchCriteriaList);
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * Records the size of a search result.
+     *
+     * @param entity  the searched entity
+     * @param rows    rows returned to the client
+     * @param matches rows matching the criteria across all pages
+     */
+    public void recordResults(String entity, long rows, long matches) {
+        EntityMeters meters = meters(entity);
+        meters.rows().record(rows);
+        meters.matches().record(matches);
+    }
+
+    private static String describe(List<SearchCriteria> searchCriteriaList) {
+        StringBuilder description = new StringBuilder();
+        for (SearchCriteria criteria : searchCriteriaList) {
+            if (!description.isEmpty()) {
+                description.append(", ");
+            }
+            description.append(criteria.getKey()).append(' ').append(criteria.getOperation());
+        }
+        return description.toString();
+    }
+
+    private Counter criteriaCounter(List<String> tags) {
+        return Counter.builder(CRITERIA_COUNTER)
+                .tag("entity", tags.get(0))
+                .tag("key", tags.get(1))
+                .tag("operation", tags.get(2))
+                .register(meterRegistry);
+    }
+
+    private EntityMeters meters(String entity) {
+        return entityMeters.computeIfAbsent(entity, name -> new EntityMeters(
+                Timer.builder(PREDICATE_TIMER).tag("entity", name).register(meterRegistry),
+                DistributionSummary.builder(ROWS_SUMMARY).tag("entity", name).register(meterRegistry),
+                DistributionSummary.builder(MATCHES_SUMMARY).tag("entity", name).register(meterRegistry)));
+    }
+
+    private record EntityMeters(Timer predicate, DistributionSummary rows, DistributionSummary matches) {
+    }
+}
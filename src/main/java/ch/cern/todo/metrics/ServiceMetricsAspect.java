@@ -0,0 +1,93 @@
+package ch.cern.todo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public service method and every repository call.
+ * <p>
+ * Timers are tagged by component, method and outcome only, so the number of series is fixed by the code. They are
+ * resolved once per method and cached, leaving a map lookup and two clock reads on the hot path.
+ * </p>
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String SERVICE_TIMER = "todo.service";
+    static final String REPOSITORY_TIMER = "todo.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MethodKey, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * ch.cern.todo..*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.computeIfAbsent(new MethodKey(joinPoint.getTarget().getClass(), method),
+                key -> register(name, componentName(key.targetClass()), method.getName()));
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            methodTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private MethodTimers register(String name, String component, String method) {
+        return new MethodTimers(timer(name, component, method, "success"), timer(name, component, method, "error"));
+    }
+
+    private Timer timer(String name, String component, String method, String outcome) {
+        return Timer.builder(name)
+                .tag("component", component)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Components are named after the application interface they implement, since repository beans are JDK proxies.
+     */
+    private static String componentName(Class<?> targetClass) {
+        for (Class<?> type : targetClass.getInterfaces()) {
+            if (type.getName().startsWith("ch.cern.todo.")) {
+                return type.getSimpleName();
+            }
+        }
+        return targetClass.getSimpleName();
+    }
+
+    private record MethodKey(Class<?> targetClass, Method method) {
+    }
+
+    private record MethodTimers(Timer success, Timer error) {
+    }
+}
@@ -0,0 +1,25 @@
+package ch.cern.todo.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so a unit of work can report how many statements
+ * it issued by comparing {@link #currentThreadCount()} before and after. The statement itself is left unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Returns the number of statements prepared by the current thread since it started.
+     */
+    public static long currentThreadCount() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,84 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import ch.cern.todo.outbox.dataModels.OutboxStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/outbox")
+public class OutboxController {
+
+    private final OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    public OutboxController(OutboxDispatcher outboxDispatcher) {
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    /**
+     * Retrieves the lag and throughput of the outbox dispatcher.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity containing the OutboxStats.
+     */
+    @GetMapping(value = "/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxStats> getStats() {
+        return ResponseEntity.ok(outboxDispatcher.getStats());
+    }
+
+    /**
+     * Retrieves the dead-lettered events; each one holds back the later events of its task.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @return a ResponseEntity containing the dead-lettered events in the order they were written.
+     */
+    @GetMapping(value = "/deadLetters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<OutboxEvent>> getDeadLetters() {
+        return ResponseEntity.ok(outboxDispatcher.getDeadLetters());
+    }
+
+    /**
+     * Queues a dead-lettered event again, ahead of the events it holds back.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param id the ID of the dead-lettered event.
+     * @return a ResponseEntity with an OK status if the event was queued again.
+     */
+    @PutMapping(value = "/retryDeadLetter/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> retryDeadLetter(@PathVariable Long id) {
+        outboxDispatcher.retryDeadLetter(id);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Discards a dead-lettered event and releases the events it holds back.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param id the ID of the dead-lettered event.
+     * @return a ResponseEntity with an OK status if the event was discarded.
+     */
+    @PutMapping(value = "/discardDeadLetter/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> discardDeadLetter(@PathVariable Long id) {
+        outboxDispatcher.discardDeadLetter(id);
+        return ResponseEntity.ok().build();
+    }
+}
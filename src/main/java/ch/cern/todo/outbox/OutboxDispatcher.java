@@ -0,0 +1,245 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.exceptions.EntityNotExistException;
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import ch.cern.todo.outbox.dataModels.OutboxStats;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the task outbox in batches and delivers the events to all {@link OutboxSink} beans.
+ * <p>
+ * The events of a batch are grouped by task id and the groups are spread over a fixed number of lanes that are
+ * delivered in parallel. A task always maps to the same lane and batches are drained one after the other, so the
+ * events of one task are delivered in the order they were written.
+ * </p>
+ * <p>
+ * A dead-lettered event keeps holding back the later events of its task until an operator retries or discards it,
+ * so subscribers never see a gap. Delivery is at least once: an event is handed to the sinks one after the other
+ * and retried as a whole when one of them fails, so the sinks that already received it receive it again.
+ * </p>
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 600_000;
+
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final ExecutorService executor;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile double lastEventsPerSecond;
+
+    @Autowired
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+                            List<OutboxSink> sinks,
+                            @Value("${todo.outbox.batch-size:200}") int batchSize,
+                            @Value("${todo.outbox.parallelism:4}") int parallelism,
+                            @Value("${todo.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${todo.outbox.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.executor = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("outbox-dispatcher-", 0).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${todo.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        // Failed events are rescheduled, so a batch without any delivery means nothing is due
+        int delivered;
+        do {
+            delivered = drain();
+        } while (delivered > 0);
+    }
+
+    /**
+     * Drains a single batch.
+     *
+     * @return the number of events delivered
+     */
+    public synchronized int drain() {
+        List<OutboxEvent> batch = outboxRepository.findPending(Timestamp.valueOf(LocalDateTime.now()), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        List<List<OutboxEvent>> lanes = assignToLanes(batch);
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        try {
+            for (Future<LaneResult> lane : executor.invokeAll(lanes.stream().map(this::laneDelivery).toList())) {
+                LaneResult result = lane.get();
+                delivered.addAll(result.delivered());
+                failedEvents.addAll(result.failed());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.error("Outbox lane failed unexpectedly", ex.getCause());
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (!failedEvents.isEmpty()) {
+            failedEvents.forEach(this::scheduleRetry);
+            outboxRepository.saveAll(failedEvents);
+        }
+        recordBatch(batch, delivered.size(), System.nanoTime() - start);
+        return delivered.size();
+    }
+
+    public OutboxStats getStats() {
+        return new OutboxStats(outboxRepository.countByDeadLetter(false), outboxRepository.countByDeadLetter(true), dispatched.get(), failed.get(), batches.get(),
+                lastLagMillis.get(), maxLagMillis.get(), lastEventsPerSecond);
+    }
+
+    public List<OutboxEvent> getDeadLetters() {
+        return outboxRepository.findByDeadLetterOrderById(true);
+    }
+
+    /**
+     * Queues a dead-lettered event again; it is delivered with the next batch, before the later events of its task.
+     *
+     * @param id the id of the dead-lettered event
+     */
+    public void retryDeadLetter(Long id) {
+        OutboxEvent event = findDeadLetter(id);
+        event.setDeadLetter(false);
+        event.setAttempts(0);
+        event.setNextAttemptAt(Timestamp.valueOf(LocalDateTime.now()));
+        outboxRepository.save(event);
+        logger.info("Outbox event {} for task {} queued again", id, event.getTaskId());
+    }
+
+    /**
+     * Drops a dead-lettered event, which releases the later events of its task without it.
+     *
+     * @param id the id of the dead-lettered event
+     */
+    public void discardDeadLetter(Long id) {
+        OutboxEvent event = findDeadLetter(id);
+        outboxRepository.delete(event);
+        logger.warn("Outbox event {} for task {} discarded, its subscribers never receive it", id, event.getTaskId());
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    private OutboxEvent findDeadLetter(Long id) {
+        return outboxRepository.findById(id)
+                .filter(OutboxEvent::isDeadLetter)
+                .orElseThrow(() -> new EntityNotExistException("Dead letter \"" + id + "\" not exists"));
+    }
+
+    private List<List<OutboxEvent>> assignToLanes(List<OutboxEvent> batch) {
+        Map<Integer, List<OutboxEvent>> lanes = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            int lane = Math.floorMod(event.getTaskId().hashCode(), parallelism);
+            lanes.computeIfAbsent(lane, key -> new ArrayList<>()).add(event);
+        }
+        return new ArrayList<>(lanes.values());
+    }
+
+    private Callable<LaneResult> laneDelivery(List<OutboxEvent> events) {
+        return () -> {
+            List<Long> delivered = new ArrayList<>(events.size());
+            List<OutboxEvent> failedEvents = new ArrayList<>();
+            List<String> blockedTasks = new ArrayList<>();
+            for (OutboxEvent event : events) {
+                // Once an event of a task fails, its later events wait for the next batch to keep the order.
+                if (blockedTasks.contains(event.getTaskId())) {
+                    continue;
+                }
+                try {
+                    for (OutboxSink sink : sinks) {
+                        sink.deliver(event);
+                    }
+                    delivered.add(event.getId());
+                } catch (Exception ex) {
+                    failed.incrementAndGet();
+                    failedEvents.add(event);
+                    blockedTasks.add(event.getTaskId());
+                    logger.warn("Delivery of outbox event {} for task {} failed: {}", event.getId(), event.getTaskId(), ex.getMessage());
+                }
+            }
+            return new LaneResult(delivered, failedEvents);
+        };
+    }
+
+    private void scheduleRetry(OutboxEvent event) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            event.setDeadLetter(true);
+            logger.error("Outbox event {} for task {} failed {} times, moved to dead letters", event.getId(), event.getTaskId(), attempts);
+            return;
+        }
+        long backoff = Math.min(retryBackoffMillis << Math.min(attempts - 1, 30), MAX_RETRY_BACKOFF_MS);
+        event.setNextAttemptAt(Timestamp.valueOf(LocalDateTime.now().plus(backoff, ChronoUnit.MILLIS)));
+    }
+
+    private void recordBatch(List<OutboxEvent> batch, int deliveredCount, long elapsedNanos) {
+        Timestamp oldest = batch.getFirst().getCreatedAt();
+        long lag = Math.max(0, System.currentTimeMillis() - oldest.getTime());
+        batches.incrementAndGet();
+        dispatched.addAndGet(deliveredCount);
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        lastEventsPerSecond = deliveredCount * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+        logger.debug("Delivered {} of {} outbox events, lag {} ms", deliveredCount, batch.size(), lag);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record LaneResult(List<Long> delivered, List<OutboxEvent> failed) {
+    }
+}
@@ -0,0 +1,54 @@
+package ch.cern.todo.outbox;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves outbox tables created before {@code task_outbox_seq} from their identity column to the sequence.
+ * <p>
+ * Both steps are guarded, so the migration only changes anything once: the identity is only dropped while the column
+ * still has one, and the sequence is only restarted while it would hand out ids already in use. Instances that
+ * already allocate from the sequence are therefore never moved backwards or raced with on a later start.
+ * </p>
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class OutboxIdMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxIdMigration.class);
+
+    // Allocation size of the pooled sequence, as declared in schema.sql
+    static final long SEQUENCE_INCREMENT = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OutboxIdMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Boolean identity = jdbcTemplate.queryForObject("SELECT IS_IDENTITY = 'YES' FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'TASK_OUTBOX' AND COLUMN_NAME = 'ID'", Boolean.class);
+        if (Boolean.TRUE.equals(identity)) {
+            jdbcTemplate.execute("ALTER TABLE task_outbox ALTER COLUMN id DROP IDENTITY");
+            logger.info("Dropped the identity of task_outbox.id");
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM task_outbox", Long.class);
+        Long nextValue = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'TASK_OUTBOX_SEQ'", Long.class);
+        // The pooled optimizer hands out the block ending at the returned value
+        if (maxId > 0 && nextValue < maxId + SEQUENCE_INCREMENT) {
+            jdbcTemplate.execute("ALTER SEQUENCE task_outbox_seq RESTART WITH " + (maxId + SEQUENCE_INCREMENT));
+            logger.info("Restarted task_outbox_seq past the outbox ids in use, up to {}", maxId);
+        }
+    }
+}
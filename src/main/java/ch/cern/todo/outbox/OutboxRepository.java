@@ -0,0 +1,28 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the events due for delivery, skipping the events of tasks whose earlier event waits for a retry or
+     * was dead-lettered, so no event is delivered after a gap.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.deadLetter = false AND e.nextAttemptAt <= :now"
+            + " AND NOT EXISTS (SELECT b FROM OutboxEvent b WHERE b.taskId = e.taskId AND b.id < e.id"
+            + " AND (b.deadLetter = true OR b.nextAttemptAt > :now))"
+            + " ORDER BY e.id")
+    List<OutboxEvent> findPending(Timestamp now, Pageable pageable);
+
+    List<OutboxEvent> findByDeadLetterOrderById(boolean deadLetter);
+
+    long countByDeadLetter(boolean deadLetter);
+}
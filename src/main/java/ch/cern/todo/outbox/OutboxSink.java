@@ -0,0 +1,23 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+
+/**
+ * Destination of task change events drained from the outbox.
+ * <p>
+ * Every {@code OutboxSink} bean receives every event. Events of the same task are delivered one after the other
+ * in the order they were written; an exception stops the delivery of the remaining events of that task, which are
+ * retried with the next batch. An event is also retried for all sinks when only a later sink failed, so sinks must
+ * tolerate duplicates.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a single event.
+     *
+     * @param event the event to deliver
+     * @throws Exception when the event could not be delivered and must be retried
+     */
+    void deliver(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,59 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import ch.cern.todo.outbox.dataModels.TaskEventType;
+import ch.cern.todo.stream.dataModels.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes task change events to the outbox table.
+ * <p>
+ * Events must be recorded in the transaction that inserts the task version, so either both are committed or neither is.
+ * </p>
+ */
+@Service
+public class TaskOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutboxService.class);
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TaskOutboxService(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TaskEventType eventType, ChangeEvent event) {
+        outboxRepository.save(toOutboxEvent(eventType, event));
+        logger.debug("Recorded {} event for task ID: {}", eventType, event.id());
+    }
+
+    /**
+     * Records the events of a bulk operation; the inserts are sent to the database in JDBC batches.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(TaskEventType eventType, List<ChangeEvent> events) {
+        outboxRepository.saveAll(events.stream().map(event -> toOutboxEvent(eventType, event)).toList());
+        logger.debug("Recorded {} {} events", events.size(), eventType);
+    }
+
+    private OutboxEvent toOutboxEvent(TaskEventType eventType, ChangeEvent event) {
+        try {
+            return OutboxEvent.from(event.id(), eventType, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise change event of task " + event.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ch.cern.todo.outbox.dataModels;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_outbox")
+public class OutboxEvent {
+    // Sequence ids keep JDBC batching available for bulk writes, identity columns would disable it
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 50)
+    private Long id;
+    private String taskId;
+    private TaskEventType eventType;
+    private String payload;
+    private Timestamp createdAt;
+    // Delivery attempts that failed, the event is not taken before nextAttemptAt and never once dead-lettered
+    private int attempts;
+    private Timestamp nextAttemptAt;
+    private boolean deadLetter;
+
+    public OutboxEvent(){}
+
+    public OutboxEvent(Long id, String taskId, TaskEventType eventType, String payload, Timestamp createdAt){
+        this.id = id;
+        this.taskId = taskId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public static OutboxEvent from(String taskId, TaskEventType eventType, String payload){
+        return new OutboxEvent(null, taskId, eventType, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public TaskEventType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Timestamp getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public boolean isDeadLetter() {
+        return deadLetter;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setEventType(TaskEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public void setNextAttemptAt(Timestamp nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void setDeadLetter(boolean deadLetter) {
+        this.deadLetter = deadLetter;
+    }
+}
@@ -0,0 +1,17 @@
+package ch.cern.todo.outbox.dataModels;
+
+/**
+ * Snapshot of the outbox dispatcher activity.
+ *
+ * @param pending            events waiting in the outbox table
+ * @param deadLettered       events parked after their last delivery attempt failed
+ * @param dispatched         events delivered since start-up
+ * @param failed             failed delivery attempts since start-up
+ * @param batches            non-empty batches drained since start-up
+ * @param lastLagMillis      age of the oldest event of the last batch when it was delivered
+ * @param maxLagMillis       highest observed lag since start-up
+ * @param lastEventsPerSecond delivery throughput of the last batch
+ */
+public record OutboxStats(long pending, long deadLettered, long dispatched, long failed, long batches,
+                          long lastLagMillis, long maxLagMillis, double lastEventsPerSecond) {
+}
@@ -0,0 +1,32 @@
+package ch.cern.todo.outbox.dataModels;
+
+import ch.cern.todo.tasks.dataModels.Task;
+
+import java.util.Arrays;
+
+public enum TaskEventType {
+    CREATED("Created"),
+    UPDATED("Updated"),
+    DELETED("Deleted");
+
+    private final String name;
+
+    TaskEventType(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public static TaskEventType getByName(String name){
+        return Arrays.stream(values())
+                .filter(type -> type.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public static TaskEventType ofNewVersion(Task task){
+        return task.getStatus() != null && task.getStatus().isDeleted() ? DELETED : UPDATED;
+    }
+}
@@ -0,0 +1,33 @@
+package ch.cern.todo.outbox.sinks;
+
+import ch.cern.todo.outbox.OutboxSink;
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends delivered events as JSON lines to a local file.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink.file.path")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    public FileOutboxSink(@Value("${todo.outbox.sink.file.path}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void deliver(OutboxEvent event) throws IOException {
+        String line = "{\"eventType\":\"" + event.getEventType() + "\",\"event\":" + event.getPayload() + "}\n";
+        Files.writeString(path, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
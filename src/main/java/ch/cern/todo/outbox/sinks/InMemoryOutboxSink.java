@@ -0,0 +1,38 @@
+package ch.cern.todo.outbox.sinks;
+
+import ch.cern.todo.outbox.OutboxSink;
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps the last delivered events in memory, intended for tests and local development.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink.memory.enabled", havingValue = "true")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private static final int CAPACITY = 10_000;
+
+    private final ConcurrentLinkedDeque<OutboxEvent> events = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        events.addLast(event);
+        while (events.size() > CAPACITY) {
+            events.pollFirst();
+        }
+    }
+
+    public List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.Authentication;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,20 @@ public class ProfileService {
         return MOCKED_FULL_NAMES.get(profileId);
     }
 
+    /**
+     * Resolves the full names of several profiles in one lookup; unknown profiles are absent from the result.
+     */
+    public Map<String, String> getFullNames(Collection<String> profileIds){
+        Map<String, String> fullNames = new HashMap<>();
+        for (String profileId : profileIds) {
+            String fullName = MOCKED_FULL_NAMES.get(profileId);
+            if (fullName != null) {
+                fullNames.put(profileId, fullName);
+            }
+        }
+        return fullNames;
+    }
+
     public static void validationSameUser(List<String> profileIds, String fieldName){
         String loggedInUsername = getLoggedInUsername();
         if (!profileIds.contains(loggedInUsername)){
@@ -38,7 +53,8 @@ public class ProfileService {
         if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
             return ((UserDetails) authentication.getPrincipal()).getUsername();
         } else {
-            return authentication.getPrincipal().toString();
+            // The subject of an access token, or the principal itself for other authentications.
+            return authentication.getName();
         }
     }
 
@@ -0,0 +1,40 @@
+package ch.cern.todo.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Calls the blocking JPA services from reactive handlers.
+ * <p>
+ * Calls run on the bounded elastic scheduler, so they never block a Netty event loop, with the security context
+ * of the request bound to the thread, where {@code ProfileService} and the lanes expect it.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class BlockingServiceBridge {
+
+    /**
+     * Runs the call once subscribed; a {@code null} result completes the Mono empty.
+     */
+    public <T> Mono<T> call(Callable<T> call) {
+        return ReactiveSecurityContextHolder.getContext()
+                .defaultIfEmpty(SecurityContextHolder.createEmptyContext())
+                .flatMap(securityContext -> Mono.fromCallable(new DelegatingSecurityContextCallable<>(call, securityContext))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    public Mono<Void> run(Runnable runnable) {
+        return call(() -> {
+            runnable.run();
+            return null;
+        }).then();
+    }
+}
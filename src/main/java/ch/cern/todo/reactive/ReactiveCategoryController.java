@@ -0,0 +1,223 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.category.CategoryService;
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.profile.ProfileService;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive variant of {@code CategoryController}, active with the {@code reactive} profile.
+ * <p>
+ * A single category and its tasks are read with R2DBC; searches and writes keep using the blocking
+ * {@link CategoryService} through the {@link BlockingServiceBridge}.
+ * </p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/category")
+public class ReactiveCategoryController {
+
+    private final CategoryService categoryService;
+    private final ReactiveCategoryRepository reactiveCategoryRepository;
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    private final ProfileService profileService;
+    private final BlockingServiceBridge blockingServiceBridge;
+
+    @Autowired
+    public ReactiveCategoryController(CategoryService categoryService, ReactiveCategoryRepository reactiveCategoryRepository,
+                                      ReactiveTaskRepository reactiveTaskRepository, ProfileService profileService,
+                                      BlockingServiceBridge blockingServiceBridge) {
+        this.categoryService = categoryService;
+        this.reactiveCategoryRepository = reactiveCategoryRepository;
+        this.reactiveTaskRepository = reactiveTaskRepository;
+        this.profileService = profileService;
+        this.blockingServiceBridge = blockingServiceBridge;
+    }
+
+    /**
+     * Retrieves a paginated list of categories based on search criteria.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". It responds with
+     * {@code 304 Not Modified} when the client's ETag still matches the filtered categories and their tasks.
+     * The ETag is only computed for conditional requests, and no Last-Modified is sent since removals do
+     * not advance it.</p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field to sort by (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param searchCriteriaList the list of search criteria to filter categories.
+     * @param exchange           the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing a page of CategoryResource objects.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<CategoryResource>>> getAllCategories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            ServerWebExchange exchange) {
+
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Mono<ResponseEntity<Page<CategoryResource>>> result = blockingServiceBridge.call(() -> categoryService.getAllCategories(PageRequest.of(page, size, sort), searchCriteriaList))
+                .map(ResponseEntity::ok);
+        if (!ReactiveTaskController.isConditional(exchange)) {
+            return result;
+        }
+        return blockingServiceBridge.call(() -> categoryService.getAllCategoriesVersion(searchCriteriaList))
+                .flatMap(version -> ReactiveTaskController.checkETagNotModified(exchange, version, page, size, sortBy, ascending, searchCriteriaList)
+                        ? Mono.just(ReactiveTaskController.<Page<CategoryResource>>notModified())
+                        : result);
+    }
+
+    /**
+     * Retrieves a paginated list of categories based on search criteria, containing only the requested properties.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". Tasks are only loaded when
+     * the {@code tasks} property is requested.</p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field to sort by (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param fields             the requested CategoryResource properties, e.g. {@code id,name}.
+     * @param searchCriteriaList the list of search criteria to filter categories.
+     * @param exchange           the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing a page of property maps.
+     */
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<Map<String, Object>>>> getAllCategories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestParam List<String> fields,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            ServerWebExchange exchange) {
+
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Mono<ResponseEntity<Page<Map<String, Object>>>> result = blockingServiceBridge.call(() -> categoryService.getAllCategories(PageRequest.of(page, size, sort), searchCriteriaList, fields))
+                .map(ResponseEntity::ok);
+        if (!ReactiveTaskController.isConditional(exchange)) {
+            return result;
+        }
+        return blockingServiceBridge.call(() -> categoryService.getAllCategoriesVersion(searchCriteriaList))
+                .flatMap(version -> ReactiveTaskController.checkETagNotModified(exchange, version, page, size, sortBy, ascending, fields, searchCriteriaList)
+                        ? Mono.just(ReactiveTaskController.<Page<Map<String, Object>>>notModified())
+                        : result);
+    }
+
+    /**
+     * Retrieves several categories by their names in one request.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". Categories are returned
+     * in request order; unknown categories are skipped.</p>
+     *
+     * @param names the names of the categories to retrieve.
+     * @return a Mono of the ResponseEntity containing the found CategoryResources.
+     */
+    @GetMapping(params = "names")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<CategoryResource>>> getCategories(@RequestParam List<String> names) {
+        return blockingServiceBridge.call(() -> categoryService.getCategories(names)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves a single category by its name.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". It responds with
+     * {@code 304 Not Modified} when the client's ETag still matches the category and its tasks. No
+     * Last-Modified is sent since removing a task from the category does not advance it.</p>
+     *
+     * @param categoryName the name of the category to retrieve.
+     * @param exchange     the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing the corresponding CategoryResource.
+     */
+    @GetMapping(value = "/{categoryName}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<CategoryResource>> getCategory(@PathVariable String categoryName, ServerWebExchange exchange) {
+        return reactiveCategoryRepository.findByCategoryNameAndProcessedTo(categoryName)
+                .flatMap(category -> reactiveTaskRepository.findAllByCategory(category.getId(), category.getProcessedTo())
+                        .collectList()
+                        .map(tasks -> ReactiveTaskController.checkETagNotModified(exchange, version(category.getProcessedFrom(), tasks))
+                                ? ReactiveTaskController.<CategoryResource>notModified()
+                                : ResponseEntity.ok(category.transferToResource(tasks.stream()
+                                        .map(task -> task.transferToResource(profileService.getFullName(task.getAssignedTo()),
+                                                profileService.getFullName(task.getReportedBy())))
+                                        .toList()))))
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Creates a new category.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param categoryResource the category resource containing the details for the new category.
+     * @return a Mono of the ResponseEntity containing the saved CategoryResource.
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<CategoryResource>> saveCategory(@RequestBody CategoryResource categoryResource) {
+        return blockingServiceBridge.call(() -> categoryService.saveCategory(categoryResource)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the details of an existing category.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param categoryResource the updated category resource.
+     * @return a Mono of the ResponseEntity containing the updated CategoryResource.
+     */
+    @PutMapping(value = "/updateDetails")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<CategoryResource>> updateDetails(@RequestBody CategoryResource categoryResource) {
+        return blockingServiceBridge.call(() -> categoryService.updateDetails(categoryResource)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes an existing category by its ID.
+     *
+     * <p>This endpoint is restricted to users with the "ADMIN" role.</p>
+     *
+     * @param id the ID of the category to delete.
+     * @return a Mono of the ResponseEntity with an OK status if deletion is successful.
+     */
+    @PutMapping(value = "/deleteCategory/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteCategory(@PathVariable String id) {
+        return blockingServiceBridge.run(() -> categoryService.deleteCategory(id))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+
+    /**
+     * Builds the same version as {@code CategoryRepository.findVersionByCategoryName} from the loaded rows.
+     */
+    private static ResourceVersion version(Timestamp categoryProcessedFrom, List<Task> tasks) {
+        Timestamp tasksLastModified = tasks.stream()
+                .map(Task::getProcessedFrom)
+                .max(Timestamp::compareTo)
+                .orElse(null);
+        return new ResourceVersion(categoryProcessedFrom, tasksLastModified, tasks.size());
+    }
+}
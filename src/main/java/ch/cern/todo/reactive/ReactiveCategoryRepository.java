@@ -0,0 +1,55 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the current-version queries of {@code CategoryRepository}.
+ * <p>
+ * Categories are returned as detached entities; their tasks are loaded separately with
+ * {@link ReactiveTaskRepository#findAllByCategory}.
+ * </p>
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCategoryRepository {
+
+    private static final String ACTIVE_CATEGORIES = "c.status <> :deleted AND c.processed_to = " + ReactiveTaskRepository.INFINITE_TIME;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveCategoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Category> findByCategoryNameAndProcessedTo(String categoryName) {
+        return databaseClient.sql("SELECT c.id, c.name, c.description, c.status, c.processed_from, c.processed_to "
+                        + "FROM category c WHERE c.name = :categoryName AND " + ACTIVE_CATEGORIES)
+                .bind("categoryName", categoryName)
+                .bind("deleted", ReactiveTaskRepository.ordinal(CategoryStatus.DELETED))
+                .map(ReactiveCategoryRepository::mapCategory)
+                .one();
+    }
+
+    private static Category mapCategory(Readable row) {
+        return new Category(
+                row.get("id", UUID.class).toString(),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                CategoryStatus.values()[Integer.parseInt(row.get("status", String.class))],
+                List.of(),
+                ReactiveTaskRepository.toTimestamp(row.get("processed_from", LocalDateTime.class)),
+                ReactiveTaskRepository.toTimestamp(row.get("processed_to", LocalDateTime.class)));
+    }
+}
@@ -0,0 +1,78 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.exceptions.EntityAlreadyExistsException;
+import ch.cern.todo.exceptions.EntityNotExistException;
+import ch.cern.todo.exceptions.ErrorResponse;
+import ch.cern.todo.exceptions.InvalidSearchCriteriaException;
+import ch.cern.todo.exceptions.NotPermissionException;
+import ch.cern.todo.exceptions.ServiceOverloadedException;
+import ch.cern.todo.exceptions.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Maps the exceptions of the services to the same responses as {@code RestResponseEntityExceptionHandler}
+ * on the reactive stack.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(EntityAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEntityAlreadyExistsException(
+            EntityAlreadyExistsException ex, ServerHttpRequest request) {
+        logger.error("Entity already exists: {}", ex.getMessage());
+        return errorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler({EntityNotExistException.class, ValidationException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(RuntimeException ex, ServerHttpRequest request) {
+        logger.error("Entity not valid: {}", ex.getMessage());
+        return errorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler({NotPermissionException.class, InvalidSearchCriteriaException.class})
+    public ResponseEntity<ErrorResponse> handleForbidden(RuntimeException ex, ServerHttpRequest request) {
+        logger.error("Request not permitted: {}", ex.getMessage());
+        return errorResponse(ex.getMessage(), HttpStatus.FORBIDDEN, request);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, ServerHttpRequest request) {
+        logger.warn("Service overloaded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value(), path(request)));
+    }
+
+    // Left to the security web filter chain, which answers 403 for denied method invocations
+    @ExceptionHandler(AccessDeniedException.class)
+    public void handleAccessDeniedException(AccessDeniedException ex) {
+        throw ex;
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, ServerHttpRequest request) {
+        logger.error("Unexpected error: {}", ex.getMessage(), ex);
+        return errorResponse("An unexpected error occurred. Please try again.", HttpStatus.INTERNAL_SERVER_ERROR, request);
+    }
+
+    private static ResponseEntity<ErrorResponse> errorResponse(String message, HttpStatus status, ServerHttpRequest request) {
+        return new ResponseEntity<>(new ErrorResponse(message, status.value(), path(request)), status);
+    }
+
+    private static String path(ServerHttpRequest request) {
+        return request.getPath().contextPath().value();
+    }
+}
@@ -0,0 +1,413 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.profile.ProfileService;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.stream.ChangeStreamService;
+import ch.cern.todo.stream.dataModels.ChangeEvent;
+import ch.cern.todo.stream.dataModels.ChangeStreamFilter;
+import ch.cern.todo.tasks.TaskService;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive variant of {@code TaskController}, active with the {@code reactive} profile.
+ * <p>
+ * Current versions are read with R2DBC and large results are streamed at the pace of the client. Searches and
+ * writes keep using the blocking {@link TaskService} through the {@link BlockingServiceBridge}.
+ * </p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/task")
+public class ReactiveTaskController {
+
+    private final TaskService taskService;
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    private final ProfileService profileService;
+    private final ChangeStreamService changeStreamService;
+    private final BlockingServiceBridge blockingServiceBridge;
+    private final int exportPageSize;
+
+    @Autowired
+    public ReactiveTaskController(TaskService taskService, ReactiveTaskRepository reactiveTaskRepository,
+                                  ProfileService profileService, ChangeStreamService changeStreamService,
+                                  BlockingServiceBridge blockingServiceBridge,
+                                  @Value("${todo.reactive.export-page-size:500}") int exportPageSize) {
+        this.taskService = taskService;
+        this.reactiveTaskRepository = reactiveTaskRepository;
+        this.profileService = profileService;
+        this.changeStreamService = changeStreamService;
+        this.blockingServiceBridge = blockingServiceBridge;
+        this.exportPageSize = exportPageSize;
+    }
+
+    /**
+     * Retrieves a paginated list of tasks based on search criteria.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Responds with {@code 304 Not Modified} when the
+     * ETag sent by the client still matches the filtered set. The ETag is only computed for conditional
+     * requests, and no Last-Modified is sent since removing a task from the set does not advance it.
+     * </p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field used for sorting (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param searchCriteriaList the list of search criteria used to filter tasks.
+     * @param exchange           the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing a Page of TaskResource objects.
+     */
+    @GetMapping(value = "")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<TaskResource>>> getAllTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            ServerWebExchange exchange) {
+
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Mono<ResponseEntity<Page<TaskResource>>> result = blockingServiceBridge.call(() -> taskService.getAllTasks(PageRequest.of(page, size, sort), searchCriteriaList))
+                .map(ResponseEntity::ok);
+        if (!isConditional(exchange)) {
+            return result;
+        }
+        return blockingServiceBridge.call(() -> taskService.getAllTasksVersion(searchCriteriaList))
+                .flatMap(version -> checkETagNotModified(exchange, version, page, size, sortBy, ascending, searchCriteriaList)
+                        ? Mono.just(notModified())
+                        : result);
+    }
+
+    /**
+     * Retrieves a paginated list of tasks based on search criteria, containing only the requested properties.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Supports the same conditional headers as the full listing.
+     * </p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field used for sorting (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param fields             the requested TaskResource properties, e.g. {@code id,name,status,deadLine}.
+     * @param searchCriteriaList the list of search criteria used to filter tasks.
+     * @param exchange           the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing a Page of property maps.
+     */
+    @GetMapping(value = "", params = "fields")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<Map<String, Object>>>> getAllTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestParam List<String> fields,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            ServerWebExchange exchange) {
+
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Mono<ResponseEntity<Page<Map<String, Object>>>> result = blockingServiceBridge.call(() -> taskService.getAllTasks(PageRequest.of(page, size, sort), searchCriteriaList, fields))
+                .map(ResponseEntity::ok);
+        if (!isConditional(exchange)) {
+            return result;
+        }
+        return blockingServiceBridge.call(() -> taskService.getAllTasksVersion(searchCriteriaList))
+                .flatMap(version -> checkETagNotModified(exchange, version, page, size, sortBy, ascending, fields, searchCriteriaList)
+                        ? Mono.just(notModified())
+                        : result);
+    }
+
+    /**
+     * Exports all current tasks, optionally of a single category, as newline delimited JSON.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Tasks are read page by page as the client consumes the
+     * response, so a slow client slows down the export instead of buffering it on the server.
+     * </p>
+     *
+     * @param categoryName optional category name; only tasks of this category are exported.
+     * @return a Flux of TaskResources, written one JSON object per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<TaskResource> exportTasksAsNdjson(@RequestParam(required = false) String categoryName) {
+        return reactiveTaskRepository.streamAllByProcessedTo(categoryName, exportPageSize)
+                .map(this::mapToResourceWithFullNames);
+    }
+
+    /**
+     * Retrieves several tasks by their unique identifiers in one request.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Tasks are returned in request order;
+     * unknown and deleted tasks are skipped.
+     * </p>
+     *
+     * @param ids the unique identifiers of the tasks.
+     * @return a Mono of the ResponseEntity containing the found TaskResources.
+     */
+    @GetMapping(value = "", params = "ids")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<TaskResource>>> getTasks(@RequestParam List<String> ids) {
+        if (ids.isEmpty() || ids.size() > TaskService.MAX_BULK_SIZE) {
+            return Mono.error(new ValidationException("Number of task ids must be between 1 and " + TaskService.MAX_BULK_SIZE));
+        }
+        return reactiveTaskRepository.findAllByIdInAndProcessedTo(new LinkedHashSet<>(ids))
+                .collectMap(Task::getId, Function.identity())
+                .map(tasks -> ids.stream()
+                        .distinct()
+                        .map(tasks::get)
+                        .filter(Objects::nonNull)
+                        .map(this::mapToResourceWithFullNames)
+                        .collect(Collectors.toList()))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of task and category changes.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Every committed version is pushed as an event
+     * named after the entity type, so clients no longer need to poll {@code GET /task}.
+     * </p>
+     *
+     * @param categoryName optional category name; only changes within this category are pushed.
+     * @param assignedTo   optional profile id; only changes of tasks assigned to this profile are pushed.
+     * @return a Flux of events, written as the client reads them.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<ServerSentEvent<ChangeEvent>> streamChanges(@RequestParam(required = false) String categoryName,
+                                                            @RequestParam(required = false) String assignedTo) {
+        return changeStreamService.stream(new ChangeStreamFilter(categoryName, assignedTo))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.entityType().getName())
+                        .id(event.id())
+                        .build());
+    }
+
+    /**
+     * Retrieves a single task by its unique identifier.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Responds with {@code 304 Not Modified} when the
+     * ETag or Last-Modified validator sent by the client still matches the current version.
+     * </p>
+     *
+     * @param id       the unique identifier of the task.
+     * @param exchange the current exchange, used to evaluate conditional headers.
+     * @return a Mono of the ResponseEntity containing the TaskResource representing the task.
+     */
+    @GetMapping(value = "/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResource>> getTask(@PathVariable String id, ServerWebExchange exchange) {
+        return reactiveTaskRepository.findByIdAndProcessedTo(id)
+                .map(task -> checkNotModified(exchange,
+                        new ResourceVersion(task.getProcessedFrom(), task.getCategory().getProcessedFrom(), 1L))
+                        ? ReactiveTaskController.<TaskResource>notModified()
+                        : ResponseEntity.ok(mapToResourceWithFullNames(task)))
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Creates a new task.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN".
+     * </p>
+     *
+     * @param taskResource the TaskResource containing task details.
+     * @return a Mono of the ResponseEntity containing the saved TaskResource.
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResource>> saveTask(@RequestBody TaskResource taskResource) {
+        return blockingServiceBridge.call(() -> taskService.saveTask(taskResource)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the details of an existing task.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN".
+     * </p>
+     *
+     * @param taskResource the TaskResource containing updated task details.
+     * @return a Mono of the ResponseEntity containing the updated TaskResource.
+     */
+    @PutMapping(value = "/updateDetails")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResource>> updateDetails(@RequestBody TaskResource taskResource) {
+        return blockingServiceBridge.call(() -> taskService.updateDetails(taskResource)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the status of a task.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN".
+     * </p>
+     *
+     * @param id         the unique identifier of the task.
+     * @param taskStatus the new status to be set.
+     * @return a Mono of the ResponseEntity containing the updated TaskResource.
+     */
+    @PutMapping(value = "/updateStatus/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResource>> updateStatus(@PathVariable String id,
+                                                           @RequestParam TaskStatus taskStatus) {
+        return blockingServiceBridge.call(() -> taskService.updateStatus(id, taskStatus)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the category associated with a task.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param id           the unique identifier of the task.
+     * @param categoryName the new category name to be associated with the task.
+     * @return a Mono of the ResponseEntity containing the updated TaskResource.
+     */
+    @PutMapping(value = "/updateCategory/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResource>> updateCategory(@PathVariable String id,
+                                                             @RequestParam String categoryName) {
+        return blockingServiceBridge.call(() -> taskService.updateCategory(id, categoryName)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the status of several tasks in a single transaction.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN".
+     * </p>
+     *
+     * @param taskStatus the new status to be set.
+     * @param ids        the unique identifiers of the tasks.
+     * @return a Mono of the ResponseEntity containing the updated TaskResources.
+     */
+    @PutMapping(value = "/bulk/status")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<TaskResource>>> updateStatuses(@RequestParam TaskStatus taskStatus,
+                                                                   @RequestBody List<String> ids) {
+        return blockingServiceBridge.call(() -> taskService.updateStatuses(ids, taskStatus)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates the category associated with several tasks in a single transaction.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param categoryName the new category name to be associated with the tasks.
+     * @param ids          the unique identifiers of the tasks.
+     * @return a Mono of the ResponseEntity containing the updated TaskResources.
+     */
+    @PutMapping(value = "/bulk/category")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<List<TaskResource>>> updateCategories(@RequestParam String categoryName,
+                                                                     @RequestBody List<String> ids) {
+        return blockingServiceBridge.call(() -> taskService.updateCategories(ids, categoryName)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Moves all tasks of one category to another category.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param fromCategoryName the name of the category the tasks are taken from.
+     * @param toCategoryName   the name of the category the tasks are moved to.
+     * @return a Mono of the ResponseEntity containing the number of moved tasks.
+     */
+    @PutMapping(value = "/bulk/moveCategory")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Integer>> moveTasksToCategory(@RequestParam String fromCategoryName,
+                                                             @RequestParam String toCategoryName) {
+        return blockingServiceBridge.call(() -> taskService.moveTasksToCategory(fromCategoryName, toCategoryName))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes a task by its unique identifier.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param id the unique identifier of the task to be deleted.
+     * @return a Mono of the ResponseEntity with an OK status if deletion is successful.
+     */
+    @PutMapping(value = "/deleteTask/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable String id) {
+        return blockingServiceBridge.run(() -> taskService.deleteTask(id))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+
+    private TaskResource mapToResourceWithFullNames(Task task) {
+        return task.transferToResource(profileService.getFullName(task.getAssignedTo()),
+                profileService.getFullName(task.getReportedBy()));
+    }
+
+    /**
+     * Evaluates the conditional headers with the same ETag as the servlet stack, so validators stay valid when
+     * clients switch between the stacks.
+     */
+    static boolean checkNotModified(ServerWebExchange exchange, ResourceVersion version, Object... variant) {
+        String eTag = eTag(exchange, version, variant);
+        return version.lastModified() == null
+                ? exchange.checkNotModified(eTag)
+                : exchange.checkNotModified(eTag, version.lastModified().toInstant());
+    }
+
+    /**
+     * Evaluates only the ETag, for listings and categories, whose latest {@code processedFrom} does not advance
+     * when something is removed from them.
+     */
+    static boolean checkETagNotModified(ServerWebExchange exchange, ResourceVersion version, Object... variant) {
+        return exchange.checkNotModified(eTag(exchange, version, variant));
+    }
+
+    /**
+     * Tells whether the client revalidates; only then is the version of a listing probed, so plain listings
+     * run no extra query.
+     */
+    static boolean isConditional(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    private static String eTag(ServerWebExchange exchange, ResourceVersion version, Object[] variant) {
+        return version.eTag(prepend(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT), variant));
+    }
+
+    private static Object[] prepend(Object first, Object[] rest) {
+        Object[] all = new Object[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
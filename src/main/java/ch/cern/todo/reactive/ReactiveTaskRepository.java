@@ -0,0 +1,156 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of the current-version queries of {@code TaskRepository}.
+ * <p>
+ * Tasks are returned as detached entities whose category only carries its name and version. Statuses are stored as their
+ * ordinal, as written by JPA.
+ * </p>
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskRepository {
+
+    static final String INFINITE_TIME = "TIMESTAMP '9999-12-31 12:00:00'";
+    private static final String ACTIVE_TASKS = "t.status <> :deleted AND t.processed_to = " + INFINITE_TIME;
+    private static final String SELECT_TASKS = "SELECT t.id, t.name, t.description, t.dead_line, t.status, t.priority_status, "
+            + "t.assigned_to, t.reported_by, t.processed_from, t.processed_to, c.name AS category_name, "
+            + "c.processed_from AS category_processed_from FROM task t "
+            + "LEFT JOIN category c ON c.id = t.category_id AND c.processed_to = t.category_processed_to WHERE ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Task> findByIdAndProcessedTo(String id) {
+        UUID uuid = toUuid(id);
+        if (uuid == null) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(SELECT_TASKS + "t.id = :id AND " + ACTIVE_TASKS)
+                .bind("id", uuid)
+                .bind("deleted", ordinal(TaskStatus.DELETED))
+                .map(ReactiveTaskRepository::mapTask)
+                .one();
+    }
+
+    public Flux<Task> findAllByIdInAndProcessedTo(Collection<String> ids) {
+        List<UUID> uuids = ids.stream().map(ReactiveTaskRepository::toUuid).filter(Objects::nonNull).toList();
+        if (uuids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_TASKS + "t.id IN (:ids) AND " + ACTIVE_TASKS)
+                .bind("ids", uuids)
+                .bind("deleted", ordinal(TaskStatus.DELETED))
+                .map(ReactiveTaskRepository::mapTask)
+                .all();
+    }
+
+    /**
+     * Finds the tasks of one category version, as loaded with {@code Category.tasks} by JPA.
+     */
+    public Flux<Task> findAllByCategory(String categoryId, Timestamp categoryProcessedTo) {
+        return databaseClient.sql(SELECT_TASKS + "t.category_id = :categoryId AND t.category_processed_to = :categoryProcessedTo")
+                .bind("categoryId", UUID.fromString(categoryId))
+                .bind("categoryProcessedTo", categoryProcessedTo.toLocalDateTime())
+                .map(ReactiveTaskRepository::mapTask)
+                .all();
+    }
+
+    /**
+     * Streams all current tasks, optionally of a single category, ordered by id.
+     * <p>
+     * Tasks are read with keyset pagination and the next page is only queried when the subscriber starts consuming
+     * the previous one, so a slow consumer holds at most two pages in memory and no open cursor.
+     * </p>
+     *
+     * @param categoryName the category to export, or {@code null} for all tasks
+     * @param pageSize     the number of tasks read per query
+     */
+    public Flux<Task> streamAllByProcessedTo(String categoryName, int pageSize) {
+        return findPage(categoryName, null, pageSize)
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : findPage(categoryName, page.get(page.size() - 1).getId(), pageSize))
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<Task>> findPage(String categoryName, String afterId, int pageSize) {
+        StringBuilder sql = new StringBuilder(SELECT_TASKS).append(ACTIVE_TASKS);
+        if (categoryName != null) {
+            sql.append(" AND c.name = :categoryName");
+        }
+        if (afterId != null) {
+            sql.append(" AND t.id > :afterId");
+        }
+        sql.append(" ORDER BY t.id LIMIT :pageSize");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("deleted", ordinal(TaskStatus.DELETED))
+                .bind("pageSize", pageSize);
+        if (categoryName != null) {
+            spec = spec.bind("categoryName", categoryName);
+        }
+        if (afterId != null) {
+            spec = spec.bind("afterId", UUID.fromString(afterId));
+        }
+        return spec.map(ReactiveTaskRepository::mapTask).all().collectList();
+    }
+
+    static Task mapTask(Readable row) {
+        Category category = new Category();
+        category.setName(row.get("category_name", String.class));
+        category.setProcessedFrom(toTimestamp(row.get("category_processed_from", LocalDateTime.class)));
+        return new Task(
+                row.get("id", UUID.class).toString(),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                toTimestamp(row.get("dead_line", LocalDateTime.class)),
+                TaskStatus.values()[Integer.parseInt(row.get("status", String.class))],
+                TaskPriorityStatus.values()[Integer.parseInt(row.get("priority_status", String.class))],
+                row.get("assigned_to", String.class),
+                row.get("reported_by", String.class),
+                category,
+                toTimestamp(row.get("processed_from", LocalDateTime.class)),
+                toTimestamp(row.get("processed_to", LocalDateTime.class)));
+    }
+
+    // Ids are UUID columns, which H2 does not compare with the character large objects strings are bound as
+    private static UUID toUuid(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    static String ordinal(Enum<?> value) {
+        return String.valueOf(value.ordinal());
+    }
+
+    static Timestamp toTimestamp(LocalDateTime localDateTime) {
+        return localDateTime == null ? null : Timestamp.valueOf(localDateTime);
+    }
+}
@@ -0,0 +1,131 @@
+package ch.cern.todo.searchEngine;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs specification queries that select only the given attributes instead of whole entities,
+ * so unused columns are neither read nor hydrated and eager associations are not loaded.
+ */
+public class ProjectionQueryHelper {
+
+    private ProjectionQueryHelper() {
+    }
+
+    /**
+     * Finds a page of rows matching the specification.
+     *
+     * @param attributes the attribute paths to select; nested paths such as {@code category.name} are left joined
+     * @return rows keyed by attribute path
+     */
+    public static <T> Page<Map<String, Object>> findAll(EntityManager entityManager, Class<T> entityType,
+                                                        Specification<T> specification, Pageable pageable,
+                                                        Collection<String> attributes) {
+        TypedQuery<Tuple> typedQuery = createQuery(entityManager, entityType, specification, pageable.getSort(), attributes);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = typedQuery.getResultList().stream()
+                .map(tuple -> toRow(tuple, attributes))
+                .toList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(entityManager, entityType, specification));
+    }
+
+    /**
+     * Streams all rows matching the specification from a single forward-only query.
+     * <p>
+     * Rows are plain values and never become managed entities, so the persistence context does not grow
+     * while the stream is consumed. The stream must be closed and consumed within a transaction.
+     * </p>
+     *
+     * @param attributes the attribute paths to select; nested paths such as {@code category.name} are left joined
+     * @param fetchSize  the number of rows the JDBC driver fetches per round trip
+     * @return rows keyed by attribute path
+     */
+    public static <T> Stream<Map<String, Object>> stream(EntityManager entityManager, Class<T> entityType,
+                                                          Specification<T> specification, Sort sort,
+                                                          Collection<String> attributes, int fetchSize) {
+        return createQuery(entityManager, entityType, specification, sort, attributes)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, attributes));
+    }
+
+    private static <T> TypedQuery<Tuple> createQuery(EntityManager entityManager, Class<T> entityType,
+                                                     Specification<T> specification, Sort sort,
+                                                     Collection<String> attributes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(getPath(root, joins, attribute));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Path<?> getPath(Root<?> root, Map<String, From<?, ?>> joins, String attribute) {
+        if (!attribute.contains(".")) {
+            return root.get(attribute);
+        }
+        String[] parts = attribute.split("\\.");
+        From<?, ?> join = joins.computeIfAbsent(parts[0], association -> root.join(association, JoinType.LEFT));
+        return join.get(parts[1]);
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, Collection<String> attributes) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (String attribute : attributes) {
+            row.put(attribute, tuple.get(index++));
+        }
+        return row;
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> entityType, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        query.select(builder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,193 @@
+package ch.cern.todo.searchEngine;
+
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Explains the query of a page of a specification search with H2's {@code EXPLAIN ANALYZE}.
+ * <p>
+ * The page query is prepared by Hibernate exactly as for the search, on a connection that records the SQL and
+ * the bound parameters and stops the query before it is executed. The recorded statement is then analysed by
+ * the database, so no entity is fetched and eager associations are not loaded.
+ * </p>
+ */
+public class QueryExplainHelper {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("/\\* scanCount: (\\d+) \\*/");
+    private static final Pattern ACCESS = Pattern.compile("/\\* ((?:\\w+\\.)+\\w+?)(\\.tableScan|:[^*]*)? \\*/");
+
+    private QueryExplainHelper() {
+    }
+
+    /**
+     * Explains the query of one page of the entities matching the specification.
+     */
+    public static <T> QueryExplanation explain(EntityManager entityManager, Class<T> entityType,
+                                               Specification<T> specification, Pageable pageable) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            CapturedStatement captured = capture(session, connection, entityType, specification, pageable);
+            String plan = analyse(connection, captured);
+            return toExplanation(captured, plan);
+        });
+    }
+
+    private static <T> CapturedStatement capture(Session session, Connection connection, Class<T> entityType,
+                                                 Specification<T> specification, Pageable pageable) throws SQLException {
+        CapturedStatement captured = new CapturedStatement();
+        Connection capturingConnection = (Connection) Proxy.newProxyInstance(QueryExplainHelper.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        captured.sql = (String) args[0];
+                        return capturingStatement((PreparedStatement) invoke(connection, method, args), captured);
+                    }
+                    // The connection belongs to the surrounding session and stays open.
+                    return method.getName().equals("close") ? null : invoke(connection, method, args);
+                });
+        try (Session explainSession = session.getSessionFactory().withOptions().connection(capturingConnection).openSession()) {
+            createQuery(explainSession, entityType, specification, pageable).getResultList();
+        } catch (RuntimeException ex) {
+            if (captured.sql == null || !isCaptured(ex)) {
+                throw ex;
+            }
+        }
+        if (captured.sql == null) {
+            throw new SQLException("The search query was not prepared");
+        }
+        return captured;
+    }
+
+    private static PreparedStatement capturingStatement(PreparedStatement statement, CapturedStatement captured) {
+        return (PreparedStatement) Proxy.newProxyInstance(QueryExplainHelper.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        captured.bindings.add(new Binding(method, args));
+                    } else if (name.startsWith("execute")) {
+                        throw new QueryCapturedException();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static <T> TypedQuery<T> createQuery(EntityManager entityManager, Class<T> entityType,
+                                                 Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        query.select(root);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery;
+    }
+
+    private static String analyse(Connection connection, CapturedStatement captured) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + captured.sql)) {
+            for (Binding binding : captured.bindings) {
+                invoke(statement, binding.method(), binding.args());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static QueryExplanation toExplanation(CapturedStatement captured, String plan) {
+        List<String> parameters = captured.bindings.stream()
+                .sorted(Comparator.comparingInt(binding -> (Integer) binding.args()[0]))
+                .map(binding -> binding.method().getName().equals("setNull") ? null : Objects.toString(binding.args()[1], null))
+                .toList();
+        long rowsScanned = 0;
+        Matcher scanCount = SCAN_COUNT.matcher(plan);
+        while (scanCount.find()) {
+            rowsScanned += Long.parseLong(scanCount.group(1));
+        }
+        Set<String> indexesUsed = new LinkedHashSet<>();
+        Set<String> tableScans = new LinkedHashSet<>();
+        Matcher access = ACCESS.matcher(plan);
+        while (access.find()) {
+            if (".tableScan".equals(access.group(2))) {
+                tableScans.add(access.group(1));
+            } else {
+                indexesUsed.add(access.group(1));
+            }
+        }
+        return new QueryExplanation(captured.sql, parameters, plan, rowsScanned,
+                new ArrayList<>(indexesUsed), new ArrayList<>(tableScans));
+    }
+
+    private static boolean isCaptured(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryCapturedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CapturedStatement {
+        private String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    private static final class QueryCapturedException extends RuntimeException {
+        private QueryCapturedException() {
+            super("Query captured before execution", null, false, false);
+        }
+    }
+}
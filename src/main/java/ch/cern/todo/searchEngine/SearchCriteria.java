@@ -1,5 +1,7 @@
 package ch.cern.todo.searchEngine;
 
+import java.util.Objects;
+
 public class SearchCriteria {
     private String key;
     private String operation;
@@ -26,4 +28,22 @@ public class SearchCriteria {
         return value;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchCriteria that = (SearchCriteria) o;
+        return Objects.equals(key, that.key) && Objects.equals(operation, that.operation) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, operation, value);
+    }
+
+    @Override
+    public String toString() {
+        return key + " " + operation + " " + value;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ch.cern.todo.searchEngine.dataModels;
+
+import java.util.List;
+
+/**
+ * How the database runs the query of a search.
+ *
+ * @param sql         the SQL generated for the page of the search
+ * @param parameters  the values bound to the SQL parameters, in order
+ * @param plan        the plan reported by {@code EXPLAIN ANALYZE}
+ * @param rowsScanned the number of rows read from tables and indexes while the plan was analysed
+ * @param indexesUsed the indexes the plan reads
+ * @param tableScans  the tables the plan reads without an index
+ */
+public record QueryExplanation(String sql, List<String> parameters, String plan, long rowsScanned,
+                               List<String> indexesUsed, List<String> tableScans) {
+}
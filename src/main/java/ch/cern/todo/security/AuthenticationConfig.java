@@ -0,0 +1,52 @@
+package ch.cern.todo.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.provisioning.UserDetailsManager;
+
+/**
+ * Users and password checks shared by the servlet and the reactive security configuration.
+ */
+@Configuration
+public class AuthenticationConfig {
+
+    @Bean
+    public UserDetailsManager userDetailsService(AuthenticationResultCache authenticationResultCache) {
+        UserDetails user = User.withUsername("mareNowa")
+                .password(passwordEncoder().encode("password"))
+                .roles("USER")
+                .build();
+
+        UserDetails admin = User.withUsername("adriBana")
+                .password(passwordEncoder().encode("password"))
+                .roles("ADMIN")
+                .build();
+
+        return new InvalidatingUserDetailsManager(new InMemoryUserDetailsManager(user, admin), authenticationResultCache);
+    }
+
+    /**
+     * Checks passwords with BCrypt only when the credentials are not in the {@link AuthenticationResultCache}.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         AuthenticationResultCache authenticationResultCache) {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder());
+        daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(daoAuthenticationProvider, authenticationResultCache);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
+
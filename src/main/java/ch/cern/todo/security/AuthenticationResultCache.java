@@ -0,0 +1,134 @@
+package ch.cern.todo.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded, short-lived cache of successful credential verifications, so stateless requests do not run BCrypt
+ * on every call.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 of the username and password under a secret generated at startup, so neither
+ * the password nor a hash that could be attacked offline is ever kept. Cached authentications have their
+ * credentials erased. Entries expire after the configured time and all entries of a user are dropped when the user
+ * changes.
+ * </p>
+ */
+@Component
+public class AuthenticationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationResultCache.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Mac prototype;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long ttlNanos;
+    private final int maxEntries;
+    private long hits;
+    private long misses;
+
+    @Autowired
+    public AuthenticationResultCache(@Value("${todo.security.auth-cache.ttl-ms:60000}") long ttlMillis,
+                                     @Value("${todo.security.auth-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    public boolean isEnabled() {
+        return ttlNanos > 0 && maxEntries > 0;
+    }
+
+    /**
+     * Computes the cache key of a username and password.
+     */
+    public String key(String username, String password) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+        // The length prefix keeps ("ab", "c") and ("a", "bc") apart.
+        mac.update(new byte[]{(byte) (usernameBytes.length >>> 24), (byte) (usernameBytes.length >>> 16),
+                (byte) (usernameBytes.length >>> 8), (byte) usernameBytes.length});
+        mac.update(usernameBytes);
+        return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return the cached authentication, or {@code null} when there is none or it expired
+     */
+    public synchronized Authentication get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || System.nanoTime() - entry.createdNanos() > ttlNanos) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.authentication();
+    }
+
+    public synchronized void put(String key, Authentication authentication) {
+        if (!isEnabled()) {
+            return;
+        }
+        entries.put(key, new Entry(authentication.getName(), authentication, System.nanoTime()));
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (entries.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Drops all cached authentications of a user, e.g. after a password or role change.
+     */
+    public synchronized void invalidate(String username) {
+        if (entries.values().removeIf(entry -> entry.username().equals(username))) {
+            logger.debug("Invalidated cached authentications of user {}", username);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    private record Entry(String username, Authentication authentication, long createdNanos) {
+    }
+}
@@ -0,0 +1,58 @@
+package ch.cern.todo.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Keeps the most recently used verified tokens, so a client reusing its token is not parsed and its signature
+ * is not verified again on every request. Expired tokens are never returned from the cache; expiry is evaluated
+ * with the same clock skew the delegate validates with, so a token is accepted or rejected regardless of whether
+ * it happens to be cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Duration clockSkew;
+    private final LinkedHashMap<String, Jwt> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration clockSkew) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.clockSkew = clockSkew;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        synchronized (this) {
+            Jwt cached = entries.get(token);
+            if (cached != null) {
+                if (cached.getExpiresAt() == null || Instant.now().minus(clockSkew).isBefore(cached.getExpiresAt())) {
+                    return cached;
+                }
+                entries.remove(token);
+            }
+        }
+        Jwt jwt = delegate.decode(token);
+        put(token, jwt);
+        return jwt;
+    }
+
+    private synchronized void put(String token, Jwt jwt) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(token, jwt);
+        Iterator<Jwt> leastRecentlyUsed = entries.values().iterator();
+        while (entries.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ch.cern.todo.security;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.UserDetailsManager;
+
+/**
+ * Decorates a {@link UserDetailsManager} so every change of a user drops its cached authentications.
+ */
+public class InvalidatingUserDetailsManager implements UserDetailsManager {
+
+    private final UserDetailsManager delegate;
+    private final AuthenticationResultCache cache;
+
+    public InvalidatingUserDetailsManager(UserDetailsManager delegate, AuthenticationResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return delegate.loadUserByUsername(username);
+    }
+
+    @Override
+    public void createUser(UserDetails user) {
+        delegate.createUser(user);
+        cache.invalidate(user.getUsername());
+    }
+
+    @Override
+    public void updateUser(UserDetails user) {
+        delegate.updateUser(user);
+        cache.invalidate(user.getUsername());
+    }
+
+    @Override
+    public void deleteUser(String username) {
+        delegate.deleteUser(username);
+        cache.invalidate(username);
+    }
+
+    @Override
+    public void changePassword(String oldPassword, String newPassword) {
+        delegate.changePassword(oldPassword, newPassword);
+        cache.invalidate(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Override
+    public boolean userExists(String username) {
+        return delegate.userExists(username);
+    }
+}
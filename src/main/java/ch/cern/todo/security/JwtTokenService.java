@@ -0,0 +1,61 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.security.dataModels.TokenResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Issues short-lived access tokens for users authenticated with their password.
+ */
+@Service
+public class JwtTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
+    static final String ISSUER = "todo";
+
+    private final JwtEncoder jwtEncoder;
+    private final Duration timeToLive;
+
+    @Autowired
+    public JwtTokenService(JwtEncoder jwtEncoder, @Value("${todo.security.jwt.ttl-seconds:900}") long timeToLiveSeconds) {
+        this.jwtEncoder = jwtEncoder;
+        this.timeToLive = Duration.ofSeconds(timeToLiveSeconds);
+    }
+
+    /**
+     * Issues a token for the user and the roles of the authentication.
+     */
+    public TokenResponse issueToken(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(JwtConfig.ROLE_PREFIX))
+                .map(authority -> authority.substring(JwtConfig.ROLE_PREFIX.length()))
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(timeToLive))
+                .claim(JwtConfig.ROLES_CLAIM, roles)
+                .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+        logger.info("Issued access token for user {} valid for {}", authentication.getName(), timeToLive);
+        return new TokenResponse(token, "Bearer", timeToLive.toSeconds());
+    }
+}
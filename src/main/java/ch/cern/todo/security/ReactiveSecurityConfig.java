@@ -0,0 +1,85 @@
+package ch.cern.todo.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+/**
+ * Security of the reactive profile, with the same rules, users and tokens as {@link SecurityConfig}.
+ * <p>
+ * Password checks and token decoding are delegated to the beans of the servlet stack; password checks run on the
+ * bounded elastic scheduler since BCrypt would otherwise stall an event loop.
+ * </p>
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Access tokens are only issued for HTTP Basic credentials.
+     */
+    @Bean
+    @Order(1)
+    public SecurityWebFilterChain tokenWebFilterChain(ServerHttpSecurity http,
+                                                     ReactiveAuthenticationManager reactiveAuthenticationManager) {
+        http
+                .securityMatcher(ServerWebExchangeMatchers.pathMatchers("/auth/token"))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange.anyExchange().authenticated())
+                .httpBasic(basic -> basic.authenticationManager(reactiveAuthenticationManager));
+
+        return http.build();
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager reactiveAuthenticationManager,
+                                                         JwtDecoder jwtDecoder,
+                                                         JwtAuthenticationConverter jwtAuthenticationConverter) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/task/**").authenticated()
+                        .pathMatchers("/category/**").authenticated()
+                        .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .pathMatchers("/actuator/**").authenticated()
+                        .anyExchange().permitAll()
+                )
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                        .jwtDecoder(reactiveJwtDecoder(jwtDecoder))
+                        .jwtAuthenticationConverter(new ReactiveJwtAuthenticationConverterAdapter(jwtAuthenticationConverter))))
+                .httpBasic(basic -> basic.authenticationManager(reactiveAuthenticationManager));
+
+        return http.build();
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(AuthenticationProvider authenticationProvider) {
+        return new ReactiveAuthenticationManagerAdapter(new ProviderManager(authenticationProvider));
+    }
+
+    // HMAC verification of a cached token is cheap enough to run on the event loop
+    private static ReactiveJwtDecoder reactiveJwtDecoder(JwtDecoder jwtDecoder) {
+        return token -> Mono.fromCallable(() -> jwtDecoder.decode(token));
+    }
+}
@@ -0,0 +1,34 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.security.dataModels.TokenResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/auth")
+public class TokenController {
+
+    private final JwtTokenService jwtTokenService;
+
+    @Autowired
+    public TokenController(JwtTokenService jwtTokenService) {
+        this.jwtTokenService = jwtTokenService;
+    }
+
+    /**
+     * Exchanges HTTP Basic credentials for a signed, short-lived access token.
+     *
+     * <p>Only HTTP Basic authentication is accepted, so a token cannot be used to obtain a new one.</p>
+     *
+     * @param authentication the user authenticated with their password.
+     * @return a ResponseEntity containing the TokenResponse.
+     */
+    @PostMapping(value = "/token")
+    public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(jwtTokenService.issueToken(authentication));
+    }
+}
@@ -0,0 +1,11 @@
+package ch.cern.todo.security.dataModels;
+
+/**
+ * A signed access token to send as {@code Authorization: Bearer <accessToken>}.
+ *
+ * @param accessToken the JWT
+ * @param tokenType   always {@code Bearer}
+ * @param expiresIn   the number of seconds the token is valid for
+ */
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,214 @@
+package ch.cern.todo.stream;
+
+import ch.cern.todo.stream.dataModels.ChangeEvent;
+import ch.cern.todo.stream.dataModels.ChangeStreamFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task and category versions to Server-Sent Events subscribers.
+ * <p>
+ * Every subscription owns a small bounded queue drained by its own virtual thread, so idle
+ * connections cost a parked virtual thread and no platform thread, and a slow client never
+ * delays the others. A subscriber that cannot keep up is disconnected and is expected to
+ * reconnect and resynchronise. Subscribers of the reactive stack get a {@link Flux} instead, whose queue is
+ * drained as the client requests events.
+ * </p>
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final List<FluxSubscription> fluxSubscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong subscriptionSequence = new AtomicLong();
+    private final long emitterTimeout;
+    private final int queueCapacity;
+
+    @Autowired
+    public ChangeStreamService(@Value("${todo.stream.emitter-timeout-ms:1800000}") long emitterTimeout,
+                               @Value("${todo.stream.queue-capacity:256}") int queueCapacity) {
+        this.emitterTimeout = emitterTimeout;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param filter the server side filter applied to every event
+     * @return the emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(ChangeStreamFilter filter) {
+        SseEmitter emitter = newEmitter();
+        Subscription subscription = new Subscription("change-stream-" + subscriptionSequence.incrementAndGet(),
+                emitter, filter, new ArrayBlockingQueue<>(queueCapacity));
+        subscription.start();
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+        logger.debug("New change stream subscription with filter: {}", filter);
+        return emitter;
+    }
+
+    /**
+     * Registers a new subscriber of the reactive stack.
+     * <p>
+     * Events wait in a bounded queue until the client requests them, so they are written at the pace of the
+     * connection. A subscriber whose queue is full is completed like a slow emitter.
+     * </p>
+     *
+     * @param filter the server side filter applied to every event
+     * @return the events, registered on subscription and unregistered on cancellation
+     */
+    public Flux<ChangeEvent> stream(ChangeStreamFilter filter) {
+        return Flux.defer(() -> {
+            FluxSubscription subscription = new FluxSubscription("change-stream-" + subscriptionSequence.incrementAndGet(),
+                    filter, Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(queueCapacity)));
+            fluxSubscriptions.add(subscription);
+            logger.debug("New reactive change stream subscription with filter: {}", filter);
+            return subscription.sink.asFlux().doFinally(signal -> {
+                if (fluxSubscriptions.remove(subscription)) {
+                    logger.debug("Change stream subscription {} closed", subscription.name);
+                }
+            });
+        });
+    }
+
+    /**
+     * Publishes a change to all matching subscribers once the surrounding transaction commits,
+     * or immediately when no transaction is active.
+     *
+     * @param event the change to publish
+     */
+    public void publish(ChangeEvent event) {
+        if (subscriptions.isEmpty() && fluxSubscriptions.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size() + fluxSubscriptions.size();
+    }
+
+    /**
+     * Completes all open streams and stops their sender threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+            unsubscribe(subscription);
+        }
+        for (FluxSubscription subscription : fluxSubscriptions) {
+            subscription.complete();
+            fluxSubscriptions.remove(subscription);
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeout);
+    }
+
+    private void dispatch(ChangeEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter.accepts(event) && !subscription.queue.offer(event)) {
+                logger.warn("Change stream subscriber {} is too slow, disconnecting", subscription.name);
+                subscription.emitter.complete();
+                unsubscribe(subscription);
+            }
+        }
+        for (FluxSubscription subscription : fluxSubscriptions) {
+            if (subscription.filter.accepts(event) && !subscription.offer(event)) {
+                logger.warn("Change stream subscriber {} is too slow, disconnecting", subscription.name);
+                subscription.complete();
+                fluxSubscriptions.remove(subscription);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.thread.interrupt();
+            logger.debug("Change stream subscription {} closed", subscription.name);
+        }
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final String name;
+        private final SseEmitter emitter;
+        private final ChangeStreamFilter filter;
+        private final BlockingQueue<ChangeEvent> queue;
+        private Thread thread;
+
+        private Subscription(String name, SseEmitter emitter, ChangeStreamFilter filter, BlockingQueue<ChangeEvent> queue) {
+            this.name = name;
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = queue;
+        }
+
+        private void start() {
+            thread = Thread.ofVirtual().name(name).start(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    ChangeEvent event = queue.take();
+                    emitter.send(SseEmitter.event()
+                            .name(event.entityType().getName())
+                            .id(event.id())
+                            .data(event));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Change stream subscriber {} disconnected: {}", name, ex.getMessage());
+                unsubscribe(this);
+            }
+        }
+    }
+
+    private record FluxSubscription(String name, ChangeStreamFilter filter, Sinks.Many<ChangeEvent> sink) {
+
+        // Events may be dispatched from several committing threads, but a sink accepts one emission at a time
+        private synchronized boolean offer(ChangeEvent event) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            return result.isSuccess() || result == Sinks.EmitResult.FAIL_CANCELLED;
+        }
+
+        private synchronized void complete() {
+            sink.tryEmitComplete();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ch.cern.todo.stream.dataModels;
+
+import java.util.Arrays;
+
+public enum ChangeEntityType {
+    TASK("Task"),
+    CATEGORY("Category");
+
+    private final String name;
+
+    ChangeEntityType(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public static ChangeEntityType getByName(String name){
+        return Arrays.stream(values())
+                .filter(type -> type.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
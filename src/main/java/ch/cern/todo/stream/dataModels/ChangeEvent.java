@@ -0,0 +1,50 @@
+package ch.cern.todo.stream.dataModels;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.tasks.dataModels.Task;
+
+import java.sql.Timestamp;
+
+/**
+ * Describes a single committed version of a task or a category as pushed to stream subscribers.
+ * <p>
+ * Only the attributes needed for client side filtering and cache invalidation are carried,
+ * clients fetch the full resource when they are interested in the change.
+ * </p>
+ */
+public record ChangeEvent(ChangeEntityType entityType, String id, String name, String status,
+                          String categoryName, String assignedTo, Timestamp processedFrom) {
+
+    /**
+     * Creates an event for a new task version.
+     *
+     * @param task         the saved task version
+     * @param categoryName the category name of the task; passed explicitly because deleted versions are detached from their category
+     * @return the change event
+     */
+    public static ChangeEvent from(Task task, String categoryName) {
+        return new ChangeEvent(
+                ChangeEntityType.TASK,
+                task.getId(),
+                task.getName(),
+                task.getStatus() == null ? null : task.getStatus().name(),
+                categoryName,
+                task.getAssignedTo(),
+                task.getProcessedFrom());
+    }
+
+    public static ChangeEvent from(Category category) {
+        return new ChangeEvent(
+                ChangeEntityType.CATEGORY,
+                category.getId(),
+                category.getName(),
+                category.getStatus() == null ? null : category.getStatus().name(),
+                category.getName(),
+                null,
+                category.getProcessedFrom());
+    }
+
+    public boolean isTask() {
+        return ChangeEntityType.TASK.equals(entityType);
+    }
+}
@@ -0,0 +1,23 @@
+package ch.cern.todo.stream.dataModels;
+
+import java.util.Objects;
+
+/**
+ * Server side filter of a change stream subscription.
+ * <p>
+ * A {@code null} attribute matches everything. The assignee filter only applies to tasks,
+ * so subscribers filtering by assignee do not receive category changes.
+ * </p>
+ */
+public record ChangeStreamFilter(String categoryName, String assignedTo) {
+
+    public boolean accepts(ChangeEvent event) {
+        if (categoryName != null && !Objects.equals(categoryName, event.categoryName())) {
+            return false;
+        }
+        if (assignedTo != null) {
+            return event.isTask() && Objects.equals(assignedTo, event.assignedTo());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package ch.cern.todo.sync;
+
+import ch.cern.todo.sync.dataModels.SyncPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Retrieves the tasks and categories changed since the given cursor.
+     *
+     * <p>This endpoint is accessible to users with roles "USER" or "ADMIN". Clients start without a cursor,
+     * store {@code nextCursor} from every response and call again while {@code hasMore} is true.</p>
+     *
+     * @param since the cursor returned by the previous call; omitted for a full sync.
+     * @param size  the maximum number of changes to return (default is 100).
+     * @return a ResponseEntity containing the SyncPage.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<SyncPage> getChanges(@RequestParam(required = false) String since,
+                                               @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(syncService.getChangesSince(since, size));
+    }
+}
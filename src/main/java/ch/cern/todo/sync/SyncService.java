@@ -0,0 +1,22 @@
+package ch.cern.todo.sync;
+
+import ch.cern.todo.sync.dataModels.SyncPage;
+
+/**
+ * Service interface for incremental synchronisation of offline clients.
+ * <p>
+ * Every change of a task or a category produces a new version, so the changes since a client's last sync
+ * are the current versions created after the client's cursor.
+ * </p>
+ */
+public interface SyncService {
+
+    /**
+     * Retrieves the tasks and categories created, updated or deleted after the given cursor.
+     *
+     * @param cursor the opaque cursor returned by the previous call, or {@code null} for a full sync
+     * @param size   the maximum number of changes to return
+     * @return a {@link SyncPage} with the changes and the cursor for the next call
+     */
+    SyncPage getChangesSince(String cursor, int size);
+}
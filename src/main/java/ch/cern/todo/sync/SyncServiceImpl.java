@@ -0,0 +1,124 @@
+package ch.cern.todo.sync;
+
+import ch.cern.todo.category.CategoryRepository;
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.stream.dataModels.ChangeEntityType;
+import ch.cern.todo.sync.dataModels.SyncChange;
+import ch.cern.todo.sync.dataModels.SyncChangeType;
+import ch.cern.todo.sync.dataModels.SyncCursor;
+import ch.cern.todo.sync.dataModels.SyncPage;
+import ch.cern.todo.tasks.TaskRepository;
+import ch.cern.todo.tasks.TaskService;
+import ch.cern.todo.tasks.dataModels.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versions are stamped with the application clock before their transaction commits, so a version can become
+ * visible after a later stamped one. Changes are therefore only returned once they are older than
+ * {@code todo.sync.safety-lag-ms}, which must exceed the time between stamping a version and committing it;
+ * a cursor never moves past a version that may still be committed. Bulk updates are bounded by
+ * {@code todo.tasks.bulk.transaction-timeout-seconds} for this reason, which must stay below the lag.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncServiceImpl.class);
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Comparator<SyncChange> VERSION_ORDER = Comparator
+            .comparing(SyncChange::processedFrom)
+            .thenComparing(SyncChange::id);
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final TaskService taskService;
+    private final long safetyLagMillis;
+
+    @Autowired
+    public SyncServiceImpl(TaskRepository taskRepository, CategoryRepository categoryRepository, TaskService taskService,
+                           @Value("${todo.sync.safety-lag-ms:5000}") long safetyLagMillis) {
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.taskService = taskService;
+        this.safetyLagMillis = safetyLagMillis;
+    }
+
+    @Override
+    public SyncPage getChangesSince(String cursor, int size) {
+        logger.debug("Retrieving changes since cursor: {} with size: {}", cursor, size);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Sync page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        SyncCursor since = SyncCursor.decode(cursor);
+        Timestamp until = new Timestamp(System.currentTimeMillis() - safetyLagMillis);
+        // One extra row per entity type tells whether another page follows.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Task> tasks = taskRepository.findCurrentVersionsChangedSince(since.processedFrom(), since.id(), until, limit);
+        List<Category> categories = categoryRepository.findCurrentVersionsChangedSince(since.processedFrom(), since.id(), until, limit);
+
+        List<SyncChange> changes = new ArrayList<>(tasks.size() + categories.size());
+        changes.addAll(toTaskChanges(tasks, since));
+        changes.addAll(toCategoryChanges(categories, since));
+        changes.sort(VERSION_ORDER);
+
+        boolean hasMore = changes.size() > size;
+        List<SyncChange> page = hasMore ? changes.subList(0, size) : changes;
+        String nextCursor = page.isEmpty() ? since.encode() : page.getLast().toCursor().encode();
+        logger.info("Found {} changes since cursor {}", page.size(), cursor);
+        return new SyncPage(List.copyOf(page), nextCursor, hasMore);
+    }
+
+    private List<SyncChange> toTaskChanges(List<Task> tasks, SyncCursor since) {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> knownIds = since.isStart() ? Collections.emptySet()
+                : new HashSet<>(taskRepository.findIdsWithVersionBefore(tasks.stream().map(Task::getId).toList(), since.processedFrom(), since.id()));
+        return tasks.stream()
+                .map(task -> {
+                    if (task.getStatus().isDeleted()) {
+                        return new SyncChange(ChangeEntityType.TASK, SyncChangeType.DELETED, task.getId(), task.getProcessedFrom(), null, null);
+                    }
+                    SyncChangeType changeType = knownIds.contains(task.getId()) ? SyncChangeType.UPDATED : SyncChangeType.CREATED;
+                    return new SyncChange(ChangeEntityType.TASK, changeType, task.getId(), task.getProcessedFrom(),
+                            taskService.mapToResourceWithFullNames(task), null);
+                })
+                .toList();
+    }
+
+    private List<SyncChange> toCategoryChanges(List<Category> categories, SyncCursor since) {
+        if (categories.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> knownIds = since.isStart() ? Collections.emptySet()
+                : new HashSet<>(categoryRepository.findIdsWithVersionBefore(categories.stream().map(Category::getId).toList(), since.processedFrom(), since.id()));
+        return categories.stream()
+                .map(category -> {
+                    if (category.getStatus().isDeleted()) {
+                        return new SyncChange(ChangeEntityType.CATEGORY, SyncChangeType.DELETED, category.getId(), category.getProcessedFrom(), null, null);
+                    }
+                    SyncChangeType changeType = knownIds.contains(category.getId()) ? SyncChangeType.UPDATED : SyncChangeType.CREATED;
+                    // Tasks are synchronised on their own, so the category is sent without its task list.
+                    CategoryResource resource = new CategoryResource(category.getId(), category.getName(), category.getDescription(), null);
+                    return new SyncChange(ChangeEntityType.CATEGORY, changeType, category.getId(), category.getProcessedFrom(), null, resource);
+                })
+                .toList();
+    }
+}
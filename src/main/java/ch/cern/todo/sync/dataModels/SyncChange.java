@@ -0,0 +1,22 @@
+package ch.cern.todo.sync.dataModels;
+
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.stream.dataModels.ChangeEntityType;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+
+import java.sql.Timestamp;
+
+/**
+ * A single change returned by the delta sync endpoint.
+ * <p>
+ * Exactly one of {@code task} and {@code category} is set for created and updated entities,
+ * deleted entities only carry their id.
+ * </p>
+ */
+public record SyncChange(ChangeEntityType entityType, SyncChangeType changeType, String id, Timestamp processedFrom,
+                         TaskResource task, CategoryResource category) {
+
+    public SyncCursor toCursor() {
+        return new SyncCursor(processedFrom, id);
+    }
+}
@@ -0,0 +1,26 @@
+package ch.cern.todo.sync.dataModels;
+
+import java.util.Arrays;
+
+public enum SyncChangeType {
+    CREATED("Created"),
+    UPDATED("Updated"),
+    DELETED("Deleted");
+
+    private final String name;
+
+    SyncChangeType(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public static SyncChangeType getByName(String name){
+        return Arrays.stream(values())
+                .filter(type -> type.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
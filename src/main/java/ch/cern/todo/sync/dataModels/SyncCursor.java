@@ -0,0 +1,47 @@
+package ch.cern.todo.sync.dataModels;
+
+import ch.cern.todo.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the change log of tasks and categories.
+ * <p>
+ * Versions are ordered by {@code processedFrom} and then by id, so the pair identifies the last
+ * version a client has seen even when several versions share the same timestamp. The cursor is
+ * handed to clients as an opaque URL safe string.
+ * </p>
+ */
+public record SyncCursor(Timestamp processedFrom, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static final SyncCursor START = new SyncCursor(Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)), "");
+
+    public static SyncCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+            return new SyncCursor(
+                    Timestamp.valueOf(LocalDateTime.parse(decoded.substring(0, separatorIndex))),
+                    decoded.substring(separatorIndex + 1));
+        } catch (RuntimeException ex) {
+            throw new ValidationException("Invalid sync cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = processedFrom.toLocalDateTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isStart() {
+        return START.equals(this);
+    }
+}
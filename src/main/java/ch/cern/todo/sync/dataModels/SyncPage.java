@@ -0,0 +1,13 @@
+package ch.cern.todo.sync.dataModels;
+
+import java.util.List;
+
+/**
+ * A page of changes together with the cursor to pass on the next call.
+ *
+ * @param changes    the changes ordered by version time
+ * @param nextCursor the cursor pointing after the last returned change
+ * @param hasMore    whether further changes are available right away
+ */
+public record SyncPage(List<SyncChange> changes, String nextCursor, boolean hasMore) {
+}
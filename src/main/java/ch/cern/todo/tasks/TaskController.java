@@ -1,34 +1,71 @@
 package ch.cern.todo.tasks;
 
+import ch.cern.todo.cache.SerializedResponseCache;
+import ch.cern.todo.cache.dataModels.ResponseFormat;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
+import ch.cern.todo.stream.ChangeStreamService;
+import ch.cern.todo.stream.dataModels.ChangeStreamFilter;
 import ch.cern.todo.tasks.dataModels.TaskResource;
 import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.web.BinaryFormatConfig;
+import ch.cern.todo.web.CsvExportWriter;
+import ch.cern.todo.web.ExportWriter;
+import ch.cern.todo.web.LengthPrefixedCborWriter;
+import ch.cern.todo.web.NdjsonExportWriter;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import ch.cern.todo.web.dataModels.VersionedResource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/task")
 public class TaskController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final TaskService taskService;
+    private final ChangeStreamService changeStreamService;
+    private final SerializedResponseCache serializedResponseCache;
+    private final NdjsonExportWriter ndjsonExportWriter;
+    private final CsvExportWriter csvExportWriter;
+    private final LengthPrefixedCborWriter lengthPrefixedCborWriter;
 
     @Autowired
-    public TaskController(TaskService taskService){
+    public TaskController(TaskService taskService, ChangeStreamService changeStreamService,
+                          SerializedResponseCache serializedResponseCache, NdjsonExportWriter ndjsonExportWriter,
+                          CsvExportWriter csvExportWriter, LengthPrefixedCborWriter lengthPrefixedCborWriter){
         this.taskService = taskService;
+        this.changeStreamService = changeStreamService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.ndjsonExportWriter = ndjsonExportWriter;
+        this.csvExportWriter = csvExportWriter;
+        this.lengthPrefixedCborWriter = lengthPrefixedCborWriter;
     }
 
     /**
      * Retrieves a paginated list of tasks based on search criteria.
      * <p>
-     * Accessible by users with roles "USER" or "ADMIN".
+     * Accessible by users with roles "USER" or "ADMIN". Responds with {@code 304 Not Modified} when the
+     * ETag sent by the client still matches the filtered set. The ETag is only computed for conditional
+     * requests, and no Last-Modified is sent since removing a task from the set does not advance it.
      * </p>
      *
      * @param page               the page number to retrieve (default is 0).
@@ -36,6 +73,7 @@ public class TaskController {
      * @param sortBy             the field used for sorting (default is "id").
      * @param ascending          whether to sort in ascending order (default is true).
      * @param searchCriteriaList the list of search criteria used to filter tasks.
+     * @param webRequest         the current request, used to evaluate conditional headers.
      * @return a ResponseEntity containing a Page of TaskResource objects.
      */
     @GetMapping(value = "")
@@ -45,8 +83,15 @@ public class TaskController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "true") boolean ascending,
-            @RequestBody List<SearchCriteria> searchCriteriaList) {
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            WebRequest webRequest) {
 
+        if (isConditional(webRequest)) {
+            ResourceVersion version = taskService.getAllTasksVersion(searchCriteriaList);
+            if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT), page, size, sortBy, ascending, searchCriteriaList))) {
+                return null;
+            }
+        }
         Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         Page<TaskResource> allTasks = taskService.getAllTasks(pageable, searchCriteriaList);
@@ -54,18 +99,211 @@ public class TaskController {
     }
 
     /**
-     * Retrieves a single task by its unique identifier.
+     * Retrieves a paginated list of tasks based on search criteria, containing only the requested properties.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Supports the same conditional headers as the full listing.
+     * </p>
+     *
+     * @param page               the page number to retrieve (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field used for sorting (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param fields             the requested TaskResource properties, e.g. {@code id,name,status,deadLine}.
+     * @param searchCriteriaList the list of search criteria used to filter tasks.
+     * @param webRequest         the current request, used to evaluate conditional headers.
+     * @return a ResponseEntity containing a Page of property maps.
+     */
+    @GetMapping(value = "", params = "fields")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Page<Map<String, Object>>> getAllTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestParam List<String> fields,
+            @RequestBody List<SearchCriteria> searchCriteriaList,
+            WebRequest webRequest) {
+
+        if (isConditional(webRequest)) {
+            ResourceVersion version = taskService.getAllTasksVersion(searchCriteriaList);
+            if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT), page, size, sortBy, ascending, fields, searchCriteriaList))) {
+                return null;
+            }
+        }
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return ResponseEntity.ok(taskService.getAllTasks(pageable, searchCriteriaList, fields));
+    }
+
+    /**
+     * Explains how the database runs the search of {@link #getAllTasks(int, int, String, boolean, List, WebRequest)}
+     * for the same criteria, sort and page, without fetching the page.
+     * <p>
+     * This endpoint is restricted to users with the "ADMIN" role.
+     * </p>
+     *
+     * @param page               the page number to explain (default is 0).
+     * @param size               the number of items per page (default is 10).
+     * @param sortBy             the field used for sorting (default is "id").
+     * @param ascending          whether to sort in ascending order (default is true).
+     * @param searchCriteriaList the list of search criteria used to filter tasks.
+     * @return a ResponseEntity containing the generated SQL, its bound parameters, the analysed plan,
+     * the number of rows scanned and the indexes used.
+     */
+    @PostMapping(value = "/search/explain")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<QueryExplanation> explainTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "true") boolean ascending,
+            @RequestBody List<SearchCriteria> searchCriteriaList) {
+
+        Sort sort = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        return ResponseEntity.ok(taskService.explainTasks(PageRequest.of(page, size, sort), searchCriteriaList));
+    }
+
+    /**
+     * Exports all tasks matching the search criteria as newline delimited JSON.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". The tasks are read with a single forward-only query
+     * and written as they are read, so exports of any size use constant memory.
+     * </p>
+     *
+     * @param fields             the optional TaskResource properties to export; all when omitted.
+     * @param searchCriteriaList the optional list of search criteria used to filter tasks.
+     * @return a ResponseEntity streaming one JSON object per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasksAsNdjson(
+            @RequestParam(required = false) List<String> fields,
+            @RequestBody(required = false) List<SearchCriteria> searchCriteriaList){
+        return exportTasks(fields, searchCriteriaList, ndjsonExportWriter);
+    }
+
+    /**
+     * Exports all tasks matching the search criteria as CSV with a header line.
      * <p>
      * Accessible by users with roles "USER" or "ADMIN".
      * </p>
      *
-     * @param id the unique identifier of the task.
-     * @return a ResponseEntity containing the TaskResource representing the task.
+     * @param fields             the optional TaskResource properties to export; all when omitted.
+     * @param searchCriteriaList the optional list of search criteria used to filter tasks.
+     * @return a ResponseEntity streaming one CSV line per task.
+     */
+    @GetMapping(value = "/export", produces = "text/csv")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasksAsCsv(
+            @RequestParam(required = false) List<String> fields,
+            @RequestBody(required = false) List<SearchCriteria> searchCriteriaList){
+        return exportTasks(fields, searchCriteriaList, csvExportWriter);
+    }
+
+    /**
+     * Exports all tasks matching the search criteria as a stream of length-prefixed CBOR items.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Every frame holds one TaskResource preceded by its
+     * length as a four byte big-endian integer, so consumers can decode the export item by item.
+     * </p>
+     *
+     * @param fields             the optional TaskResource properties to export; all when omitted.
+     * @param searchCriteriaList the optional list of search criteria used to filter tasks.
+     * @return a ResponseEntity streaming the encoded TaskResources.
+     */
+    @GetMapping(value = "/export", produces = BinaryFormatConfig.APPLICATION_LENGTH_PREFIXED_CBOR_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasksAsCbor(
+            @RequestParam(required = false) List<String> fields,
+            @RequestBody(required = false) List<SearchCriteria> searchCriteriaList){
+        return exportTasks(fields, searchCriteriaList, lengthPrefixedCborWriter);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportTasks(List<String> fields, List<SearchCriteria> searchCriteriaList,
+                                                              ExportWriter exportWriter){
+        List<SearchCriteria> criteria = searchCriteriaList == null ? List.of() : searchCriteriaList;
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+            taskService.exportTasks(criteria, fields, exportWriter, bufferedOutputStream);
+            bufferedOutputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(exportWriter.getMediaType()).body(body);
+    }
+
+    /**
+     * Retrieves several tasks by their unique identifiers in one request.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Tasks are returned in request order;
+     * unknown and deleted tasks are skipped.
+     * </p>
+     *
+     * @param ids the unique identifiers of the tasks.
+     * @return a ResponseEntity containing the found TaskResources.
+     */
+    @GetMapping(value = "", params = "ids")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResource>> getTasks(@RequestParam List<String> ids){
+        return ResponseEntity.ok(taskService.getTasks(ids));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of task and category changes.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Every committed version is pushed as an event
+     * named after the entity type, so clients no longer need to poll {@code GET /task}.
+     * </p>
+     *
+     * @param categoryName optional category name; only changes within this category are pushed.
+     * @param assignedTo   optional profile id; only changes of tasks assigned to this profile are pushed.
+     * @return the SseEmitter bound to the response.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public SseEmitter streamChanges(@RequestParam(required = false) String categoryName,
+                                    @RequestParam(required = false) String assignedTo){
+        return changeStreamService.subscribe(new ChangeStreamFilter(categoryName, assignedTo));
+    }
+
+    /**
+     * Retrieves a single task by its unique identifier.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN". Responds with {@code 304 Not Modified} when the
+     * ETag or Last-Modified validator sent by the client still matches the current version. Otherwise the
+     * serialised TaskResource of the current version is written from the response cache. On a miss the task
+     * is loaded together with its version, which then keys the entry and the validators, so a write racing
+     * with the request can never store a newer body under an older version.
+     * </p>
+     *
+     * @param id         the unique identifier of the task.
+     * @param webRequest the current request, used to evaluate conditional headers.
+     * @return a ResponseEntity containing the serialised TaskResource representing the task.
      */
     @GetMapping(value = "/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<TaskResource> getTask(@PathVariable String id){
-        return ResponseEntity.ok(taskService.getTask(id));
+    public ResponseEntity<byte[]> getTask(@PathVariable String id, WebRequest webRequest){
+        ResourceVersion version = taskService.getTaskVersion(id);
+        if (version == null) {
+            return ResponseEntity.ok().build();
+        }
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        byte[] task = serializedResponseCache.getIfPresent(taskCacheKey(id, version), format);
+        if (task == null) {
+            VersionedResource<TaskResource> current = taskService.getVersionedTask(id);
+            if (current == null) {
+                return ResponseEntity.ok().build();
+            }
+            version = current.version();
+            task = serializedResponseCache.put(taskCacheKey(id, version), format, current.resource());
+        }
+        if (webRequest.checkNotModified(version.eTag(accept), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(task);
+    }
+
+    private static String taskCacheKey(String id, ResourceVersion version) {
+        return "task:" + id + "@" + version.lastModified();
     }
 
     /**
@@ -132,6 +370,57 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateCategory(id, categoryName));
     }
 
+    /**
+     * Updates the status of several tasks in a single transaction.
+     * <p>
+     * Accessible by users with roles "USER" or "ADMIN".
+     * </p>
+     *
+     * @param taskStatus the new status to be set.
+     * @param ids        the unique identifiers of the tasks.
+     * @return a ResponseEntity containing the updated TaskResources.
+     */
+    @PutMapping(value = "/bulk/status")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResource>> updateStatuses(@RequestParam TaskStatus taskStatus,
+                                                             @RequestBody List<String> ids){
+        return ResponseEntity.ok(taskService.updateStatuses(ids, taskStatus));
+    }
+
+    /**
+     * Updates the category associated with several tasks in a single transaction.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param categoryName the new category name to be associated with the tasks.
+     * @param ids          the unique identifiers of the tasks.
+     * @return a ResponseEntity containing the updated TaskResources.
+     */
+    @PutMapping(value = "/bulk/category")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResource>> updateCategories(@RequestParam String categoryName,
+                                                               @RequestBody List<String> ids){
+        return ResponseEntity.ok(taskService.updateCategories(ids, categoryName));
+    }
+
+    /**
+     * Moves all tasks of one category to another category.
+     * <p>
+     * Accessible only by users with the "ADMIN" role.
+     * </p>
+     *
+     * @param fromCategoryName the name of the category the tasks are taken from.
+     * @param toCategoryName   the name of the category the tasks are moved to.
+     * @return a ResponseEntity containing the number of moved tasks.
+     */
+    @PutMapping(value = "/bulk/moveCategory")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> moveTasksToCategory(@RequestParam String fromCategoryName,
+                                                       @RequestParam String toCategoryName){
+        return ResponseEntity.ok(taskService.moveTasksToCategory(fromCategoryName, toCategoryName));
+    }
+
     /**
      * Deletes a task by its unique identifier.
      * <p>
@@ -147,4 +436,13 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Tells whether the client revalidates; only then is the version of a listing probed, so plain listings
+     * run no extra query.
+     */
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
 }
@@ -1,26 +1,86 @@
 package ch.cern.todo.tasks;
 
+import ch.cern.todo.category.dataModels.Category;
 import ch.cern.todo.tasks.dataModels.Task;
 import ch.cern.todo.tasks.dataModels.TaskKey;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.web.dataModels.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, TaskKey>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, TaskKey>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
     String INFINITE_TIME = "t.processedTo = CAST('9999-12-31 12:00:00' AS timestamp)";
     String STATUS_NOT_DELETED = "t.status <> TaskStatus.DELETED";
     String ACTIVE_CATEGORIES = STATUS_NOT_DELETED + " AND " + INFINITE_TIME;
+    // Copies the selected current versions as history rows closed at :closedAt, detached from their category
+    String CLOSE_VERSIONS = "INSERT INTO Task (id, name, description, deadLine, status, priorityStatus, assignedTo, reportedBy, processedFrom, processedTo) "
+            + "SELECT t.id, t.name, t.description, t.deadLine, t.status, t.priorityStatus, t.assignedTo, t.reportedBy, t.processedFrom, :closedAt "
+            + "FROM Task t WHERE ";
 
     @Query("SELECT t FROM Task t WHERE " + ACTIVE_CATEGORIES)
     Page<Task> findAllByProcessedTo(Pageable pageable);
 
     @Query("SELECT t FROM Task t WHERE t.id = :id AND " + ACTIVE_CATEGORIES)
     Optional<Task> findByIdAndProcessedTo(String id);
+
+    // The category name is part of the representation, so renaming the category changes the version too
+    @Query("SELECT new ch.cern.todo.web.dataModels.ResourceVersion(t.processedFrom, c.processedFrom, 1L) "
+            + "FROM Task t LEFT JOIN t.category c WHERE t.id = :id AND " + ACTIVE_CATEGORIES)
+    Optional<ResourceVersion> findVersionById(String id);
+
+    @Query("SELECT t FROM Task t WHERE " + INFINITE_TIME
+            + " AND (t.processedFrom > :since OR (t.processedFrom = :since AND t.id > :id)) AND t.processedFrom < :until"
+            + " ORDER BY t.processedFrom, t.id")
+    List<Task> findCurrentVersionsChangedSince(Timestamp since, String id, Timestamp until, Pageable pageable);
+
+    // Versions ordered before the cursor (since, id): the entity existed when the client synchronised up to it
+    @Query("SELECT DISTINCT t.id FROM Task t WHERE t.id IN :ids"
+            + " AND (t.processedFrom < :since OR (t.processedFrom = :since AND t.id <= :id))")
+    List<String> findIdsWithVersionBefore(Collection<String> ids, Timestamp since, String id);
+
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND " + ACTIVE_CATEGORIES)
+    List<Task> findAllByIdInAndProcessedTo(Collection<String> ids);
+
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND " + INFINITE_TIME)
+    List<Task> findCurrentVersionsByIdIn(Collection<String> ids);
+
+    @Query("SELECT t FROM Task t WHERE t.category = :category AND t.processedFrom = :processedFrom AND " + ACTIVE_CATEGORIES)
+    List<Task> findAllByCategoryAndProcessedFrom(Category category, Timestamp processedFrom);
+
+    @Modifying(flushAutomatically = true)
+    @Query(CLOSE_VERSIONS + "t.id IN :ids AND " + ACTIVE_CATEGORIES)
+    int closeVersions(Collection<String> ids, Timestamp closedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(CLOSE_VERSIONS + "t.category = :category AND " + ACTIVE_CATEGORIES)
+    int closeVersionsOfCategory(Category category, Timestamp closedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.processedFrom = :processedFrom WHERE t.id IN :ids AND " + ACTIVE_CATEGORIES)
+    int updateStatusOfCurrentVersions(Collection<String> ids, TaskStatus status, Timestamp processedFrom);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = TaskStatus.DELETED, t.category = null, t.processedFrom = :processedFrom "
+            + "WHERE t.id IN :ids AND " + ACTIVE_CATEGORIES)
+    int deleteCurrentVersions(Collection<String> ids, Timestamp processedFrom);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.category = :category, t.processedFrom = :processedFrom WHERE t.id IN :ids AND " + ACTIVE_CATEGORIES)
+    int updateCategoryOfCurrentVersions(Collection<String> ids, Category category, Timestamp processedFrom);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.category = :target, t.processedFrom = :processedFrom WHERE t.category = :source AND " + ACTIVE_CATEGORIES)
+    int moveCurrentVersions(Category source, Category target, Timestamp processedFrom);
 }
@@ -0,0 +1,59 @@
+package ch.cern.todo.tasks;
+
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Criteria based queries of {@link TaskRepository} that cannot be derived or expressed with {@code @Query}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Computes the version of the set of tasks matching the specification with a single aggregate query,
+     * without loading any entity.
+     *
+     * @param specification the filter of the set
+     * @return the latest {@code processedFrom} and the number of matching tasks
+     */
+    ResourceVersion findVersion(Specification<Task> specification);
+
+    /**
+     * Finds a page of task rows matching the specification, selecting only the given attributes.
+     *
+     * @param specification the filter of the rows
+     * @param pageable      the pagination and sorting configuration
+     * @param attributes    the entity attribute paths to select
+     * @return a page of rows keyed by attribute path
+     */
+    Page<Map<String, Object>> findAllAttributes(Specification<Task> specification, Pageable pageable, Collection<String> attributes);
+
+    /**
+     * Streams all task rows matching the specification from a single forward-only query, selecting only
+     * the given attributes. The stream must be closed and consumed within a transaction.
+     *
+     * @param specification the filter of the rows
+     * @param sort          the order of the rows
+     * @param attributes    the entity attribute paths to select
+     * @param fetchSize     the number of rows the JDBC driver fetches per round trip
+     * @return a stream of rows keyed by attribute path
+     */
+    Stream<Map<String, Object>> streamAllAttributes(Specification<Task> specification, Sort sort, Collection<String> attributes, int fetchSize);
+
+    /**
+     * Explains how the database runs the query of a page of tasks matching the specification, without fetching it.
+     *
+     * @param specification the filter of the tasks
+     * @param pageable      the pagination and sorting configuration
+     * @return the SQL, its parameters and the analysed plan
+     */
+    QueryExplanation explain(Specification<Task> specification, Pageable pageable);
+}
@@ -0,0 +1,71 @@
+package ch.cern.todo.tasks;
+
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import ch.cern.todo.searchEngine.ProjectionQueryHelper;
+import ch.cern.todo.searchEngine.QueryExplainHelper;
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public ResourceVersion findVersion(Specification<Task> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        // Tasks are represented with the name of their category, which changes with the category version
+        Join<Task, Category> category = root.join("category", JoinType.LEFT);
+        query.multiselect(
+                builder.greatest(root.<Timestamp>get("processedFrom")),
+                builder.greatest(category.<Timestamp>get("processedFrom")),
+                builder.countDistinct(root.get("id"))
+        );
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Tuple result = entityManager.createQuery(query).getSingleResult();
+        return new ResourceVersion(result.get(0, Timestamp.class), result.get(1, Timestamp.class), result.get(2, Long.class));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findAllAttributes(Specification<Task> specification, Pageable pageable, Collection<String> attributes) {
+        return ProjectionQueryHelper.findAll(entityManager, Task.class, specification, pageable, attributes);
+    }
+
+    @Override
+    public Stream<Map<String, Object>> streamAllAttributes(Specification<Task> specification, Sort sort, Collection<String> attributes, int fetchSize) {
+        return ProjectionQueryHelper.stream(entityManager, Task.class, specification, sort, attributes, fetchSize);
+    }
+
+    @Override
+    public QueryExplanation explain(Specification<Task> specification, Pageable pageable) {
+        return QueryExplainHelper.explain(entityManager, Task.class, specification, pageable);
+    }
+}
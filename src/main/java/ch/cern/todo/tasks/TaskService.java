@@ -1,13 +1,20 @@
 package ch.cern.todo.tasks;
 
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
 import ch.cern.todo.tasks.dataModels.Task;
 import ch.cern.todo.tasks.dataModels.TaskResource;
 import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.web.ExportWriter;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import ch.cern.todo.web.dataModels.VersionedResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing tasks.
@@ -18,6 +25,11 @@ import java.util.List;
  */
 public interface TaskService {
 
+    /**
+     * The maximum number of tasks a single bulk request may read or change.
+     */
+    int MAX_BULK_SIZE = 1000;
+
     /**
      * Retrieves a paginated list of tasks filtered by the provided search criteria.
      *
@@ -27,6 +39,54 @@ public interface TaskService {
      */
     Page<TaskResource> getAllTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList);
 
+    /**
+     * Retrieves a paginated list of tasks containing only the requested {@link TaskResource} properties.
+     * <p>
+     * Only the columns backing the requested properties are selected and user names are resolved only
+     * when a name property is requested.
+     * </p>
+     *
+     * @param pageable           the pagination and sorting configuration
+     * @param searchCriteriaList a list of search criteria to filter the tasks
+     * @param fields             the names of the requested {@link TaskResource} properties
+     * @return a {@link org.springframework.data.domain.Page} of property maps in {@link TaskResource} order
+     */
+    Page<Map<String, Object>> getAllTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList, List<String> fields);
+
+    /**
+     * Writes every task matching the search criteria to the output stream, ordered by identifier.
+     * <p>
+     * The tasks are read with a single forward-only query and written row by row, so memory use does not
+     * depend on the number of exported tasks.
+     * </p>
+     *
+     * @param searchCriteriaList a list of search criteria to filter the tasks
+     * @param fields             the names of the exported {@link TaskResource} properties; all when empty
+     * @param exportWriter       encodes the rows
+     * @param outputStream       the stream the rows are written to
+     * @return the number of exported tasks
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportTasks(List<SearchCriteria> searchCriteriaList, List<String> fields, ExportWriter exportWriter,
+                     OutputStream outputStream) throws IOException;
+
+    /**
+     * Retrieves the version of the set of tasks matching the search criteria without loading them.
+     *
+     * @param searchCriteriaList a list of search criteria to filter the tasks
+     * @return the {@link ResourceVersion} of the matching tasks
+     */
+    ResourceVersion getAllTasksVersion(List<SearchCriteria> searchCriteriaList);
+
+    /**
+     * Explains how the database runs the query behind {@link #getAllTasks(Pageable, List)} without fetching the page.
+     *
+     * @param pageable           the pagination and sorting configuration
+     * @param searchCriteriaList a list of search criteria to filter the tasks
+     * @return the {@link QueryExplanation} of the page query
+     */
+    QueryExplanation explainTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList);
+
     /**
      * Retrieves a single task based on its unique identifier.
      *
@@ -35,6 +95,30 @@ public interface TaskService {
      */
     TaskResource getTask(String id);
 
+    /**
+     * Retrieves the version of a single task without loading it.
+     *
+     * @param id the unique identifier of the task
+     * @return the {@link ResourceVersion} of the task, or {@code null} if not found
+     */
+    ResourceVersion getTaskVersion(String id);
+
+    /**
+     * Retrieves a single task together with the version it was built from, read in one transaction.
+     *
+     * @param id the unique identifier of the task
+     * @return the {@link TaskResource} and its {@link ResourceVersion}, or {@code null} if not found
+     */
+    VersionedResource<TaskResource> getVersionedTask(String id);
+
+    /**
+     * Retrieves several tasks by their unique identifiers with a single query.
+     *
+     * @param ids the unique identifiers of the tasks
+     * @return the found tasks as {@link TaskResource} objects in request order; unknown and deleted tasks are skipped
+     */
+    List<TaskResource> getTasks(List<String> ids);
+
     /**
      * Maps a {@link Task} entity to a {@link TaskResource} that includes full user names for assigned and reported users.
      *
@@ -43,6 +127,14 @@ public interface TaskService {
      */
     TaskResource mapToResourceWithFullNames(Task task);
 
+    /**
+     * Maps several {@link Task} entities to {@link TaskResource} objects, resolving all user names in one lookup.
+     *
+     * @param tasks the task entities to map
+     * @return the {@link TaskResource} objects in the order of the given tasks
+     */
+    List<TaskResource> mapToResourcesWithFullNames(List<Task> tasks);
+
     /**
      * Saves a new task.
      *
@@ -77,6 +169,37 @@ public interface TaskService {
      */
     TaskResource updateCategory(String id, String categoryName);
 
+    /**
+     * Updates the status of several tasks at once.
+     * <p>
+     * All tasks are validated with a single query and their versions are swapped with set-based statements
+     * in one transaction, so either every task is updated or none is.
+     * </p>
+     *
+     * @param ids        the unique identifiers of the tasks
+     * @param taskStatus the new status to be set for all tasks
+     * @return the updated tasks as {@link TaskResource} objects; deleted tasks are not returned
+     */
+    List<TaskResource> updateStatuses(List<String> ids, TaskStatus taskStatus);
+
+    /**
+     * Moves several tasks to the given category at once.
+     *
+     * @param ids          the unique identifiers of the tasks
+     * @param categoryName the category name to associate with all tasks
+     * @return the updated tasks as {@link TaskResource} objects
+     */
+    List<TaskResource> updateCategories(List<String> ids, String categoryName);
+
+    /**
+     * Moves every task of one category to another category with set-based statements.
+     *
+     * @param fromCategoryName the name of the category the tasks are taken from
+     * @param toCategoryName   the name of the category the tasks are moved to
+     * @return the number of moved tasks
+     */
+    int moveTasksToCategory(String fromCategoryName, String toCategoryName);
+
     /**
      * Deletes the task identified by the given unique identifier.
      *
@@ -2,26 +2,61 @@ package ch.cern.todo.tasks;
 
 import ch.cern.todo.category.CategoryRepository;
 import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryKey;
+import ch.cern.todo.coalescing.Coalesced;
+import ch.cern.todo.lanes.RunInLane;
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
 import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.metrics.SearchMetrics;
+import ch.cern.todo.outbox.TaskOutboxService;
+import ch.cern.todo.outbox.dataModels.TaskEventType;
 import ch.cern.todo.profile.ProfileService;
 import ch.cern.todo.searchEngine.SearchCriteria;
 import ch.cern.todo.searchEngine.TaskSearchEngineService;
+import ch.cern.todo.searchEngine.dataModels.QueryExplanation;
+import ch.cern.todo.stream.ChangeStreamService;
+import ch.cern.todo.stream.dataModels.ChangeEvent;
 import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskField;
 import ch.cern.todo.tasks.dataModels.TaskResource;
 import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.timing.RequestTiming;
+import ch.cern.todo.timing.dataModels.TimingPhase;
 import ch.cern.todo.validation.InputFieldValidator;
+import ch.cern.todo.web.ExportWriter;
+import ch.cern.todo.web.dataModels.ResourceVersion;
+import ch.cern.todo.web.dataModels.VersionedResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -30,23 +65,147 @@ public class TaskServiceImpl implements TaskService {
 
     private static final String TASK = "Task";
     private static final String CATEGORY = "Category";
+    private static final Timestamp INFINITE_TIME = Timestamp.valueOf("9999-12-31 12:00:00");
+    private static final int EXPORT_FETCH_SIZE = 500;
+    // Bulk versions are stamped before their transaction commits, so it must end within the sync safety lag
+    private static final String BULK_TRANSACTION_TIMEOUT = "${todo.tasks.bulk.transaction-timeout-seconds:3}";
+    private static final String SEARCH_ENTITY = "task";
+    private static final Set<String> SEARCH_KEYS = Arrays.stream(TaskField.values())
+            .map(TaskField::getAttribute)
+            .collect(Collectors.toUnmodifiableSet());
     private final TaskRepository taskRepository;
     private final CategoryRepository categoryRepository;
     private final ProfileService profileService;
+    private final ChangeStreamService changeStreamService;
+    private final TaskOutboxService taskOutboxService;
+    private final SearchMetrics searchMetrics;
 
     @Autowired
-    public TaskServiceImpl(TaskRepository taskRepository, CategoryRepository categoryRepository, ProfileService profileService) {
+    public TaskServiceImpl(TaskRepository taskRepository, CategoryRepository categoryRepository, ProfileService profileService,
+                           ChangeStreamService changeStreamService, TaskOutboxService taskOutboxService,
+                           SearchMetrics searchMetrics) {
         this.taskRepository = taskRepository;
         this.categoryRepository = categoryRepository;
         this.profileService = profileService;
+        this.changeStreamService = changeStreamService;
+        this.taskOutboxService = taskOutboxService;
+        this.searchMetrics = searchMetrics;
     }
 
     @Override
+    @Coalesced
+    @RunInLane(value = WorkloadLane.BULK, largePagesOnly = true)
     public Page<TaskResource> getAllTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList) {
         logger.debug("Entering getAllTasks with pageable: {} and search criteria: {}", pageable, searchCriteriaList);
+        Page<Task> tasks = taskRepository.findAll(buildSearchSpecification(searchCriteriaList), pageable);
+        searchMetrics.recordResults(SEARCH_ENTITY, tasks.getNumberOfElements(), tasks.getTotalElements());
+        logger.info("Found {} tasks", tasks.getTotalElements());
+        return tasks.map(this::mapToResourceWithFullNames);
+    }
+
+    @Override
+    @Coalesced
+    @RunInLane(value = WorkloadLane.BULK, largePagesOnly = true)
+    public Page<Map<String, Object>> getAllTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList, List<String> fields) {
+        logger.debug("Entering getAllTasks with pageable: {}, search criteria: {} and fields: {}", pageable, searchCriteriaList, fields);
+        Set<TaskField> taskFields = parseFields(fields);
+        Set<String> attributes = taskFields.stream()
+                .map(TaskField::getAttribute)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Page<Map<String, Object>> rows = taskRepository.findAllAttributes(buildSearchSpecification(searchCriteriaList), pageable, attributes);
+        searchMetrics.recordResults(SEARCH_ENTITY, rows.getNumberOfElements(), rows.getTotalElements());
+        Map<String, String> fullNames = resolveFullNames(rows.getContent(), taskFields);
+        logger.info("Found {} tasks", rows.getTotalElements());
+        long mappingStart = RequestTiming.start();
+        Page<Map<String, Object>> resources = rows.map(row -> toSparseResource(row, taskFields, fullNames::get));
+        RequestTiming.stop(TimingPhase.MAPPING, mappingStart);
+        return resources;
+    }
+
+    private static Set<TaskField> parseFields(List<String> fields) {
+        Set<TaskField> taskFields = EnumSet.noneOf(TaskField.class);
+        for (String field : fields) {
+            TaskField taskField = TaskField.getByName(field);
+            if (taskField == null) {
+                throw new ValidationException("Unknown task field: " + field);
+            }
+            taskFields.add(taskField);
+        }
+        if (taskFields.isEmpty()) {
+            throw new ValidationException("At least one task field must be requested");
+        }
+        return taskFields;
+    }
+
+    private Map<String, String> resolveFullNames(List<Map<String, Object>> rows, Set<TaskField> taskFields) {
+        Set<String> profileIds = new HashSet<>();
+        for (TaskField taskField : taskFields) {
+            if (taskField.isFullName()) {
+                rows.forEach(row -> profileIds.add((String) row.get(taskField.getAttribute())));
+            }
+        }
+        return profileIds.isEmpty() ? Map.of() : profileService.getFullNames(profileIds);
+    }
+
+    private static Map<String, Object> toSparseResource(Map<String, Object> row, Set<TaskField> taskFields,
+                                                        Function<String, String> fullNameOf) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        for (TaskField taskField : taskFields) {
+            Object value = row.get(taskField.getAttribute());
+            resource.put(taskField.getName(), taskField.isFullName() ? fullNameOf.apply((String) value) : value);
+        }
+        return resource;
+    }
+
+    @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional(readOnly = true)
+    public long exportTasks(List<SearchCriteria> searchCriteriaList, List<String> fields, ExportWriter exportWriter,
+                            OutputStream outputStream) throws IOException {
+        logger.debug("Exporting tasks matching search criteria: {} with fields: {}", searchCriteriaList, fields);
+        Set<TaskField> taskFields = fields == null || fields.isEmpty() ? EnumSet.allOf(TaskField.class) : parseFields(fields);
+        Set<String> attributes = taskFields.stream()
+                .map(TaskField::getAttribute)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        exportWriter.writeHeader(outputStream, taskFields.stream().map(TaskField::getName).toList());
+        // Only a handful of profiles exist, so their names are remembered for the whole export.
+        Map<String, String> fullNames = new HashMap<>();
+        Function<String, String> fullNameOf = profileId -> fullNames.computeIfAbsent(profileId, profileService::getFullName);
+        long exported = 0;
+        try (Stream<Map<String, Object>> rows = taskRepository.streamAllAttributes(buildSpecification(searchCriteriaList),
+                Sort.by("id"), attributes, EXPORT_FETCH_SIZE)) {
+            Iterator<Map<String, Object>> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.write(outputStream, toSparseResource(iterator.next(), taskFields, fullNameOf));
+                exported++;
+            }
+        }
+        logger.info("Exported {} tasks", exported);
+        return exported;
+    }
+
+    @Override
+    public ResourceVersion getAllTasksVersion(List<SearchCriteria> searchCriteriaList) {
+        logger.debug("Retrieving version of tasks matching search criteria: {}", searchCriteriaList);
+        return taskRepository.findVersion(buildSpecification(searchCriteriaList));
+    }
+
+    @Override
+    public QueryExplanation explainTasks(Pageable pageable, List<SearchCriteria> searchCriteriaList) {
+        logger.debug("Explaining search of tasks with pageable: {} and search criteria: {}", pageable, searchCriteriaList);
+        QueryExplanation explanation = taskRepository.explain(buildSpecification(searchCriteriaList), pageable);
+        logger.info("Search plan scans {} rows using indexes {}", explanation.rowsScanned(), explanation.indexesUsed());
+        return explanation;
+    }
+
+    private Specification<Task> buildSearchSpecification(List<SearchCriteria> searchCriteriaList) {
+        return searchMetrics.instrument(SEARCH_ENTITY, SEARCH_KEYS, searchCriteriaList, buildSpecification(searchCriteriaList));
+    }
+
+    private Specification<Task> buildSpecification(List<SearchCriteria> searchCriteriaList) {
         Specification<Task> baseSpec = (root, query, builder) -> builder.and(
                 builder.notEqual(root.get("status"), TaskStatus.DELETED),
-                builder.equal(root.get("processedTo"), Timestamp.valueOf("9999-12-31 12:00:00"))
+                builder.equal(root.get("processedTo"), INFINITE_TIME)
         );
 
         Specification<Task> dynamicSpec = Specification.where(null);
@@ -54,13 +213,11 @@ public class TaskServiceImpl implements TaskService {
             dynamicSpec = dynamicSpec.and(new TaskSearchEngineService(criteria));
             logger.debug("Added search spec for criteria: {}", criteria);
         }
-
-        Page<Task> tasks = taskRepository.findAll(baseSpec.and(dynamicSpec), pageable);
-        logger.info("Found {} tasks", tasks.getTotalElements());
-        return tasks.map(this::mapToResourceWithFullNames);
+        return baseSpec.and(dynamicSpec);
     }
 
     @Override
+    @Coalesced
     public TaskResource getTask(String id) {
         logger.debug("Retrieving task with ID: {}", id);
         TaskResource result = taskRepository.findByIdAndProcessedTo(id)
@@ -72,32 +229,86 @@ public class TaskServiceImpl implements TaskService {
         return result;
     }
 
+    @Override
+    public ResourceVersion getTaskVersion(String id) {
+        return taskRepository.findVersionById(id).orElse(null);
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public VersionedResource<TaskResource> getVersionedTask(String id) {
+        logger.debug("Retrieving task with ID {} and its version", id);
+        return taskRepository.findByIdAndProcessedTo(id)
+                .map(task -> new VersionedResource<>(mapToResourceWithFullNames(task),
+                        new ResourceVersion(task.getProcessedFrom(), task.getCategory().getProcessedFrom(), 1L)))
+                .orElse(null);
+    }
+
+    @Override
+    public List<TaskResource> getTasks(List<String> ids) {
+        logger.debug("Retrieving tasks with IDs: {}", ids);
+        validateBulkSize(ids);
+        List<Task> tasks = taskRepository.findAllByIdInAndProcessedTo(new LinkedHashSet<>(ids));
+        List<TaskResource> result = mapToResourcesInRequestOrder(ids, tasks);
+        logger.info("Retrieved {} of {} requested tasks", result.size(), ids.size());
+        return result;
+    }
+
     @Override
     public TaskResource mapToResourceWithFullNames(Task task) {
         logger.debug("Mapping task {} to resource with full names", task.getId());
+        long mappingStart = RequestTiming.start();
         String assignedToName = profileService.getFullName(task.getAssignedTo());
         String reportedByName = profileService.getFullName(task.getReportedBy());
         TaskResource resource = task.transferToResource(assignedToName, reportedByName);
+        RequestTiming.stop(TimingPhase.MAPPING, mappingStart);
         logger.debug("Mapped task {} to resource", task.getId());
         return resource;
     }
 
     @Override
+    public List<TaskResource> mapToResourcesWithFullNames(List<Task> tasks) {
+        long mappingStart = RequestTiming.start();
+        Set<String> profileIds = new HashSet<>();
+        for (Task task : tasks) {
+            profileIds.add(task.getAssignedTo());
+            profileIds.add(task.getReportedBy());
+        }
+        Map<String, String> fullNames = profileService.getFullNames(profileIds);
+        List<TaskResource> resources = tasks.stream()
+                .map(task -> task.transferToResource(fullNames.get(task.getAssignedTo()), fullNames.get(task.getReportedBy())))
+                .toList();
+        RequestTiming.stop(TimingPhase.MAPPING, mappingStart);
+        return resources;
+    }
+
+    /**
+     * The category is read in the transaction that inserts the task. A category version closed in the meantime is
+     * rejected by the foreign key of the task and reported as a validation error.
+     */
+    @Override
+    @Transactional
     public TaskResource saveTask(TaskResource taskResource) {
         logger.debug("Saving task with details: {}", taskResource);
         Category category = categoryRepository.findByCategoryNameAndProcessedTo(taskResource.categoryName()).orElse(null);
-        logger.debug("Category lookup for name {} returned: {}", taskResource.categoryName(), category);
-        validateNewTaskInput(taskResource, category);
-        Task taskToSave = taskResource.transferToNewEntity(TaskStatus.CREATED, category);
-        Task savedTask = taskRepository.save(taskToSave);
+        String existingTaskId = taskRepository.findByIdAndProcessedTo(taskResource.id()).map(Task::getId).orElse(null);
+        validateNewTaskInput(taskResource, category, existingTaskId);
+        Task savedTask;
+        try {
+            savedTask = taskRepository.saveAndFlush(taskResource.transferToNewEntity(TaskStatus.CREATED, category));
+        } catch (DataIntegrityViolationException ex) {
+            logger.warn("Category {} changed while saving a task", taskResource.categoryName(), ex);
+            throw new ValidationException("Category \"" + taskResource.categoryName() + "\" was changed while the task was saved");
+        }
+        publishChange(TaskEventType.CREATED, ChangeEvent.from(savedTask, taskResource.categoryName()));
         logger.info("Task saved with ID: {}", savedTask.getId());
         return mapToResourceWithFullNames(savedTask);
     }
 
-    private void validateNewTaskInput(TaskResource taskResource, Category category) {
+    private void validateNewTaskInput(TaskResource taskResource, Category category, String existingTaskId) {
         List<String> errorMessages = new ArrayList<>();
-        String taskId = taskResource.id();
-        String existingTaskId = taskRepository.findByIdAndProcessedTo(taskId).map(Task::getId).orElse(null);
+        logger.debug("Category lookup for name {} returned: {}", taskResource.categoryName(), category == null ? null : category.getId());
         InputFieldValidator.validateIfEntityExists(TASK, "id", existingTaskId);
         InputFieldValidator.validateIfNotEntityExists(CATEGORY, taskResource.categoryName(), category);
         InputFieldValidator.validateFieldNotEmpty(TASK, "name", taskResource.name(), errorMessages);
@@ -111,6 +322,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public TaskResource updateDetails(TaskResource taskResource) {
         logger.debug("Updating details for task with ID: {}", taskResource.id());
         Task existingTask = taskRepository.findByIdAndProcessedTo(taskResource.id()).orElse(null);
@@ -136,6 +348,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public TaskResource updateStatus(String id, TaskStatus taskStatus) {
         logger.debug("Updating status for task ID: {} to {}", id, taskStatus);
         Task existingTask = taskRepository.findByIdAndProcessedTo(id).orElse(null);
@@ -147,6 +360,8 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional
     public TaskResource updateCategory(String id, String categoryName) {
         logger.debug("Updating category for task ID: {} to category: {}", id, categoryName);
         Task existingTask = taskRepository.findByIdAndProcessedTo(id).orElse(null);
@@ -165,6 +380,111 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional(timeoutString = BULK_TRANSACTION_TIMEOUT)
+    public List<TaskResource> updateStatuses(List<String> ids, TaskStatus taskStatus) {
+        logger.debug("Updating status of tasks {} to {}", ids, taskStatus);
+        List<Task> existingTasks = findExistingTasks(ids);
+        Map<String, String> categoryNames = existingTasks.stream()
+                .collect(Collectors.toMap(Task::getId, task -> task.getCategory().getName()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        taskRepository.closeVersions(categoryNames.keySet(), now);
+        if (taskStatus.isDeleted()) {
+            taskRepository.deleteCurrentVersions(categoryNames.keySet(), now);
+        } else {
+            taskRepository.updateStatusOfCurrentVersions(categoryNames.keySet(), taskStatus, now);
+        }
+        List<Task> updatedTasks = taskRepository.findCurrentVersionsByIdIn(categoryNames.keySet());
+        publishChanges(updatedTasks, task -> categoryNames.get(task.getId()));
+        logger.info("Status of {} tasks updated to {}", updatedTasks.size(), taskStatus);
+        return mapToResourcesInRequestOrder(ids, updatedTasks);
+    }
+
+    @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional(timeoutString = BULK_TRANSACTION_TIMEOUT)
+    public List<TaskResource> updateCategories(List<String> ids, String categoryName) {
+        logger.debug("Updating category of tasks {} to category: {}", ids, categoryName);
+        Category category = categoryReference(findCategoryId(categoryName));
+        List<Task> existingTasks = findExistingTasks(ids);
+        Set<String> taskIds = existingTasks.stream().map(Task::getId).collect(Collectors.toSet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        taskRepository.closeVersions(taskIds, now);
+        taskRepository.updateCategoryOfCurrentVersions(taskIds, category, now);
+        List<Task> updatedTasks = taskRepository.findCurrentVersionsByIdIn(taskIds);
+        publishChanges(updatedTasks, task -> categoryName);
+        logger.info("Category of {} tasks updated to {}", updatedTasks.size(), categoryName);
+        return mapToResourcesInRequestOrder(ids, updatedTasks);
+    }
+
+    @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional(timeoutString = BULK_TRANSACTION_TIMEOUT)
+    public int moveTasksToCategory(String fromCategoryName, String toCategoryName) {
+        logger.debug("Moving all tasks from category {} to category {}", fromCategoryName, toCategoryName);
+        String sourceId = findCategoryId(fromCategoryName);
+        String targetId = findCategoryId(toCategoryName);
+        if (sourceId.equals(targetId)) {
+            throw new ValidationException("Tasks cannot be moved to the category they already belong to");
+        }
+        Category source = categoryReference(sourceId);
+        Category target = categoryReference(targetId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        taskRepository.closeVersionsOfCategory(source, now);
+        int movedCount = taskRepository.moveCurrentVersions(source, target, now);
+        // The moved versions are the ones of the target category stamped by this transaction.
+        List<Task> movedTasks = taskRepository.findAllByCategoryAndProcessedFrom(target, now);
+        publishChanges(movedTasks, task -> toCategoryName);
+        logger.info("Moved {} tasks from category {} to category {}", movedCount, fromCategoryName, toCategoryName);
+        return movedCount;
+    }
+
+    /**
+     * Loads the current versions of the given tasks with a single query and fails if any of them does not exist.
+     */
+    private List<Task> findExistingTasks(List<String> ids) {
+        validateBulkSize(ids);
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        List<Task> existingTasks = taskRepository.findAllByIdInAndProcessedTo(uniqueIds);
+        if (existingTasks.size() != uniqueIds.size()) {
+            existingTasks.forEach(task -> uniqueIds.remove(task.getId()));
+            InputFieldValidator.validateIfNotEntityExists(TASK, String.join(", ", uniqueIds), null);
+        }
+        return existingTasks;
+    }
+
+    private static void validateBulkSize(List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_SIZE) {
+            throw new ValidationException("Number of task ids must be between 1 and " + MAX_BULK_SIZE);
+        }
+    }
+
+    private String findCategoryId(String categoryName) {
+        String categoryId = categoryRepository.findIdByCategoryNameAndProcessedTo(categoryName).orElse(null);
+        InputFieldValidator.validateIfNotEntityExists(CATEGORY, categoryName, categoryId);
+        return categoryId;
+    }
+
+    /**
+     * Creates a reference to the current version of a category without loading the category and its tasks.
+     */
+    private Category categoryReference(String categoryId) {
+        return categoryRepository.getReferenceById(new CategoryKey(categoryId, INFINITE_TIME));
+    }
+
+    private List<TaskResource> mapToResourcesInRequestOrder(List<String> ids, List<Task> tasks) {
+        Map<String, Task> tasksById = tasks.stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> orderedTasks = new LinkedHashSet<>(ids).stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .filter(task -> !task.getStatus().isDeleted())
+                .toList();
+        return mapToResourcesWithFullNames(orderedTasks);
+    }
+
+    @Override
+    @RunInLane(WorkloadLane.BULK)
+    @Transactional
     public void deleteTask(String id) {
         logger.debug("Deleting task with ID: {}", id);
         Task existingTask = taskRepository.findByIdAndProcessedTo(id).orElse(null);
@@ -176,17 +496,47 @@ public class TaskServiceImpl implements TaskService {
 
     private Task saveUpdatedTask(Task existingTask, Task taskWithUpdatedData) {
         logger.debug("Saving updated task data for task ID: {}", existingTask.getId());
+        String categoryName = categoryNameOf(taskWithUpdatedData, existingTask);
         closeTaskEntity(existingTask);
         Task savedTask = taskRepository.save(taskWithUpdatedData);
+        publishChange(TaskEventType.ofNewVersion(savedTask), ChangeEvent.from(savedTask, categoryName));
         logger.debug("Updated task saved with ID: {}", savedTask.getId());
         return savedTask;
     }
 
+    /**
+     * Resolves the category name to report for a new task version; deleted versions lose their category,
+     * so the name of the previous version is used instead.
+     */
+    private static String categoryNameOf(Task taskWithUpdatedData, Task existingTask) {
+        Category category = taskWithUpdatedData.getCategory() != null ? taskWithUpdatedData.getCategory() : existingTask.getCategory();
+        return category == null ? null : category.getName();
+    }
+
     private void closeTaskEntity(Task existingTask) {
         logger.debug("Closing task entity for task ID: {}", existingTask.getId());
-        existingTask.closeTaskEntity();
-        taskRepository.save(existingTask);
+        taskRepository.save(existingTask.toClosedVersion());
         logger.debug("Task entity for task ID {} closed", existingTask.getId());
     }
 
+    /**
+     * Records the change in the outbox within the current transaction and pushes it to stream subscribers after commit.
+     */
+    private void publishChange(TaskEventType eventType, ChangeEvent event) {
+        taskOutboxService.record(eventType, event);
+        changeStreamService.publish(event);
+    }
+
+    private void publishChanges(List<Task> tasks, Function<Task, String> categoryNameOf) {
+        Map<TaskEventType, List<ChangeEvent>> eventsByType = new EnumMap<>(TaskEventType.class);
+        for (Task task : tasks) {
+            eventsByType.computeIfAbsent(TaskEventType.ofNewVersion(task), type -> new ArrayList<>())
+                    .add(ChangeEvent.from(task, categoryNameOf.apply(task)));
+        }
+        eventsByType.forEach((eventType, events) -> {
+            taskOutboxService.recordAll(eventType, events);
+            events.forEach(changeStreamService::publish);
+        });
+    }
+
 }
\ No newline at end of file
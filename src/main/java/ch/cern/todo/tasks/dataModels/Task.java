@@ -173,9 +173,24 @@ public class Task {
         return processedTo;
     }
 
-    public void closeTaskEntity() {
-        this.processedTo = Timestamp.valueOf(LocalDateTime.now());
-        this.category = null;
+    /**
+     * Creates the historical copy of this version, closed at the current time and detached from its category.
+     * A copy is used instead of changing the identifier of a managed entity in place.
+     */
+    public Task toClosedVersion() {
+        return new Task(
+                getId(),
+                getName(),
+                getDescription(),
+                getDeadLine(),
+                getStatus(),
+                getPriorityStatus(),
+                getAssignedTo(),
+                getReportedBy(),
+                null,
+                getProcessedFrom(),
+                Timestamp.valueOf(LocalDateTime.now())
+        );
     }
 
     public void setId(String id) {
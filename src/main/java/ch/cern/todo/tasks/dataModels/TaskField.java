@@ -0,0 +1,48 @@
+package ch.cern.todo.tasks.dataModels;
+
+import java.util.Arrays;
+
+/**
+ * Properties of {@link TaskResource} that can be requested as a sparse fieldset, together with the
+ * entity attribute each of them is read from.
+ */
+public enum TaskField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    DESCRIPTION("description", "description"),
+    DEAD_LINE("deadLine", "deadLine"),
+    STATUS("status", "status"),
+    PRIORITY_STATUS("priorityStatus", "priorityStatus"),
+    ASSIGNED_TO("assignedTo", "assignedTo"),
+    ASSIGNED_TO_NAME("assignedToName", "assignedTo"),
+    REPORTED_BY("reportedBy", "reportedBy"),
+    REPORTED_BY_NAME("reportedByName", "reportedBy"),
+    CATEGORY_NAME("categoryName", "category.name");
+
+    private final String name;
+    private final String attribute;
+
+    TaskField(String name, String attribute){
+        this.name = name;
+        this.attribute = attribute;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public String getAttribute(){
+        return attribute;
+    }
+
+    public static TaskField getByName(String name){
+        return Arrays.stream(values())
+                .filter(field -> field.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public boolean isFullName(){
+        return ASSIGNED_TO_NAME.equals(this) || REPORTED_BY_NAME.equals(this);
+    }
+}
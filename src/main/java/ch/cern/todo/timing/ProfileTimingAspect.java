@@ -0,0 +1,27 @@
+package ch.cern.todo.timing;
+
+import ch.cern.todo.timing.dataModels.TimingPhase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the profile lookups of a timed request as the profile resolution phase.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "todo.server-timing.enabled", havingValue = "true")
+public class ProfileTimingAspect {
+
+    @Around("within(ch.cern.todo.profile.ProfileService)")
+    public Object timeProfileLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = RequestTiming.start();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.stop(TimingPhase.PROFILE, start);
+        }
+    }
+}
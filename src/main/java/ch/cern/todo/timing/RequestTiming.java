@@ -0,0 +1,139 @@
+package ch.cern.todo.timing;
+
+import ch.cern.todo.timing.dataModels.TimingPhase;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-request breakdown of where the server spent its time, bound to the thread handling the request.
+ * <p>
+ * The service layer reports phases through the static {@link #start()} and {@link #stop(TimingPhase, long)}
+ * methods. When no timing is open on the current thread, because the {@link ServerTimingFilter} is disabled or the
+ * request is not timed, they only read a thread local and allocate nothing.
+ * </p>
+ * <p>
+ * Work handed to another thread on behalf of the request is wrapped with {@link #propagate(Callable)}, the way the
+ * security context is propagated, so its phases are reported too.
+ * </p>
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long startNanos;
+    private final long[] durations = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private long serialisationStartNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming open() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Binds the timing of the current request, if any, to the thread running the returned callable.
+     */
+    public static <T> Callable<T> propagate(Callable<T> callable) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return callable;
+        }
+        return () -> {
+            RequestTiming previous = CURRENT.get();
+            CURRENT.set(timing);
+            try {
+                return callable.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Starts measuring a phase.
+     *
+     * @return the start to pass to {@link #stop(TimingPhase, long)}, or {@code 0} when the request is not timed
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Adds the time elapsed since {@code start} to a phase of the current request.
+     */
+    public static void stop(TimingPhase phase, long start) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && start != 0) {
+            timing.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Marks the end of the security filters: everything since the request entered the timing filter is authentication.
+     */
+    static void handlerReached() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.counts[TimingPhase.AUTHENTICATION.ordinal()] == 0) {
+            timing.add(TimingPhase.AUTHENTICATION, System.nanoTime() - timing.startNanos);
+        }
+    }
+
+    /**
+     * Marks the start of writing the response body; it ends when the request leaves the timing filter.
+     */
+    static void serialisationStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.serialisationStartNanos == 0) {
+            timing.serialisationStartNanos = System.nanoTime();
+        }
+    }
+
+    private synchronized void add(TimingPhase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    /**
+     * Ends the timing and formats it as a {@code Server-Timing} header value, e.g.
+     * {@code auth;desc="Authentication";dur=0.412, sql;desc="SQL (3)";dur=1.270, total;dur=2.861}.
+     */
+    synchronized String toHeaderValue() {
+        long endNanos = System.nanoTime();
+        if (serialisationStartNanos != 0) {
+            add(TimingPhase.SERIALISATION, endNanos - serialisationStartNanos);
+            serialisationStartNanos = 0;
+        }
+        StringBuilder header = new StringBuilder(256);
+        for (TimingPhase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.getName()).append(";desc=\"").append(phase.getDescription());
+            if (phase.isCounted()) {
+                header.append(" (").append(count).append(')');
+            }
+            header.append("\";dur=").append(milliseconds(durations[phase.ordinal()])).append(", ");
+        }
+        return header.append("total;dur=").append(milliseconds(endNanos - startNanos)).toString();
+    }
+
+    private static String milliseconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,66 @@
+package ch.cern.todo.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Adds a {@code Server-Timing} header breaking task and category requests into phases
+ * ({@code todo.server-timing.enabled}, off by default).
+ * <p>
+ * Runs just ahead of the security filters, so the time until the handler is reached is reported as authentication.
+ * The body is buffered so the header can still be set once serialisation has finished, which delays the first byte
+ * and copies every response body on the heap; it is meant for diagnosing a deployment, not for permanent use.
+ * Streaming endpoints are excluded.
+ * </p>
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(name = "todo.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final List<String> pathPrefixes;
+    private final List<String> excludedPaths;
+
+    @Autowired
+    public ServerTimingFilter(@Value("${todo.server-timing.paths:/task,/category}") String[] pathPrefixes,
+                              @Value("${todo.server-timing.exclude-paths:/task/export,/task/stream}") String[] excludedPaths) {
+        this.pathPrefixes = Arrays.asList(pathPrefixes);
+        this.excludedPaths = Arrays.asList(excludedPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPrefixes.stream().noneMatch(path::startsWith) || excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.open();
+        try {
+            filterChain.doFilter(request, wrapper);
+            wrapper.setHeader(SERVER_TIMING, timing.toHeaderValue());
+        } finally {
+            RequestTiming.close();
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
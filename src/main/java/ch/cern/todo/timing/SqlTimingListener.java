@@ -0,0 +1,33 @@
+package ch.cern.todo.timing;
+
+import ch.cern.todo.timing.dataModels.TimingPhase;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Reports the execution of every SQL statement, or batch of statements, to the {@link RequestTiming} of the
+ * current request. Hibernate creates one listener per session.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = RequestTiming.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.stop(TimingPhase.SQL, start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = RequestTiming.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.stop(TimingPhase.SQL, start);
+    }
+}
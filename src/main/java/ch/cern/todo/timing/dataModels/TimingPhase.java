@@ -0,0 +1,41 @@
+package ch.cern.todo.timing.dataModels;
+
+/**
+ * Phases of a request reported in the {@code Server-Timing} response header.
+ * <p>
+ * Profile resolution done while mapping entities to resources is reported in both phases.
+ * </p>
+ */
+public enum TimingPhase {
+    AUTHENTICATION("auth", "Authentication", false),
+    SEARCH_PLAN("search-plan", "Search plan", false),
+    SQL("sql", "SQL", true),
+    PROFILE("profile", "Profile resolution", true),
+    MAPPING("mapping", "Mapping", false),
+    SERIALISATION("serialisation", "Serialisation", false);
+
+    private final String name;
+    private final String description;
+    private final boolean counted;
+
+    TimingPhase(String name, String description, boolean counted) {
+        this.name = name;
+        this.description = description;
+        this.counted = counted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Whether the number of occurrences is reported along with the duration, e.g. the number of SQL statements.
+     */
+    public boolean isCounted() {
+        return counted;
+    }
+}
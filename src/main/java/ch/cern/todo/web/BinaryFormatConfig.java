@@ -0,0 +1,44 @@
+package ch.cern.todo.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers binary Jackson encodings selected through the {@code Accept} header.
+ * <p>
+ * Both converters are built from the application's {@link Jackson2ObjectMapperBuilder}, so CBOR and Smile
+ * responses carry exactly the same properties as the JSON ones and only the wire encoding differs.
+ * </p>
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * A sequence of CBOR items, each preceded by its length as a four byte big-endian integer.
+     */
+    public static final String APPLICATION_LENGTH_PREFIXED_CBOR_VALUE = "application/vnd.todo.length-prefixed+cbor";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public LengthPrefixedCborWriter lengthPrefixedCborWriter(MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
+        return new LengthPrefixedCborWriter(cborHttpMessageConverter.getObjectMapper());
+    }
+}
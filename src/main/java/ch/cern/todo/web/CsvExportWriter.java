@@ -0,0 +1,58 @@
+package ch.cern.todo.web;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows as RFC 4180 CSV with a header line; timestamps are written as ISO-8601 instants.
+ */
+@Component
+public class CsvExportWriter implements ExportWriter {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    @Override
+    public MediaType getMediaType() {
+        return TEXT_CSV;
+    }
+
+    @Override
+    public void writeHeader(OutputStream outputStream, List<String> columns) throws IOException {
+        writeLine(outputStream, columns);
+    }
+
+    @Override
+    public void write(OutputStream outputStream, Map<String, Object> row) throws IOException {
+        writeLine(outputStream, row.values());
+    }
+
+    private static void writeLine(OutputStream outputStream, Collection<?> values) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (Object value : values) {
+            if (!line.isEmpty()) {
+                line.append(',');
+            }
+            line.append(escape(value));
+        }
+        outputStream.write(line.append("\r\n").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Timestamp timestamp ? timestamp.toInstant().toString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
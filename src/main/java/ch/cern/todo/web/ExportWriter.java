@@ -0,0 +1,29 @@
+package ch.cern.todo.web;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes exported rows one at a time straight to the response, so an export never holds more than one row.
+ */
+public interface ExportWriter {
+
+    MediaType getMediaType();
+
+    /**
+     * Writes whatever precedes the first row; most formats have no header.
+     *
+     * @param columns the names of the exported properties, in row order
+     */
+    default void writeHeader(OutputStream outputStream, List<String> columns) throws IOException {
+    }
+
+    /**
+     * Writes a single row keyed by property name.
+     */
+    void write(OutputStream outputStream, Map<String, Object> row) throws IOException;
+}
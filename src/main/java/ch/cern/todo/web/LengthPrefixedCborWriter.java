@@ -0,0 +1,40 @@
+package ch.cern.todo.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes items as length-prefixed CBOR frames, so a consumer can decode a large export one item at a time
+ * without buffering the whole response and without a streaming CBOR parser.
+ */
+public class LengthPrefixedCborWriter implements ExportWriter {
+
+    private static final MediaType MEDIA_TYPE = MediaType.parseMediaType(BinaryFormatConfig.APPLICATION_LENGTH_PREFIXED_CBOR_VALUE);
+
+    private final ObjectMapper cborObjectMapper;
+
+    public LengthPrefixedCborWriter(ObjectMapper cborObjectMapper) {
+        this.cborObjectMapper = cborObjectMapper;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    /**
+     * Writes a single frame: the encoded length as a four byte big-endian integer followed by the CBOR item.
+     */
+    @Override
+    public void write(OutputStream outputStream, Map<String, Object> row) throws IOException {
+        byte[] encoded = cborObjectMapper.writeValueAsBytes(row);
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(encoded.length);
+        dataOutputStream.write(encoded);
+    }
+}
@@ -0,0 +1,35 @@
+package ch.cern.todo.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes rows as newline delimited JSON, one object per line, using the application's JSON settings.
+ */
+@Component
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NdjsonExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    @Override
+    public void write(OutputStream outputStream, Map<String, Object> row) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(row));
+        outputStream.write('\n');
+    }
+}
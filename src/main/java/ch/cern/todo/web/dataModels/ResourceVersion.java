@@ -0,0 +1,64 @@
+package ch.cern.todo.web.dataModels;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Version of a single resource or of a filtered collection, used as HTTP validator.
+ * <p>
+ * Versions are never modified in place, so the latest {@code processedFrom} of the current versions moves
+ * forward whenever anything is created or updated, and the number of current versions drops whenever
+ * something is deleted or leaves the filtered set. Together they change whenever the representation can change.
+ * </p>
+ * <p>
+ * The latest {@code processedFrom} alone only serves as Last-Modified of a single task: removing a task from a
+ * collection or a category does not advance it, so those representations are validated by their ETag only.
+ * </p>
+ *
+ * @param lastModified the latest {@code processedFrom}, or {@code null} for an empty set
+ * @param count        the number of current versions the representation is built from
+ */
+public record ResourceVersion(Timestamp lastModified, long count) {
+
+    /**
+     * Creates the version of a resource that embeds other resources, such as a category with its tasks.
+     */
+    public ResourceVersion(Timestamp lastModified, Timestamp nestedLastModified, long count) {
+        this(latest(lastModified, nestedLastModified), count);
+    }
+
+    /**
+     * Builds a strong ETag; the variant distinguishes representations of the same data, such as different pages
+     * or wire encodings.
+     */
+    public String eTag(Object... variant) {
+        StringBuilder eTag = new StringBuilder("\"");
+        if (lastModified != null) {
+            Instant instant = lastModified.toInstant();
+            eTag.append(Long.toHexString(instant.getEpochSecond())).append('.').append(Integer.toHexString(instant.getNano()));
+        }
+        eTag.append('-').append(Long.toHexString(count));
+        if (variant.length > 0) {
+            byte[] variantBytes = Arrays.deepToString(variant).getBytes(StandardCharsets.UTF_8);
+            eTag.append('-').append(Long.toHexString(UUID.nameUUIDFromBytes(variantBytes).getMostSignificantBits()));
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Returns the Last-Modified value of a single task in epoch milliseconds, or {@code -1} when unknown.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.getTime();
+    }
+
+    private static Timestamp latest(Timestamp first, Timestamp second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return first.after(second) ? first : second;
+    }
+}
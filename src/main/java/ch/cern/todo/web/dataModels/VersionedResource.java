@@ -0,0 +1,10 @@
+package ch.cern.todo.web.dataModels;
+
+/**
+ * A resource together with the version it was built from, read in the same transaction.
+ *
+ * @param resource the resource representation
+ * @param version  the version of exactly this representation
+ */
+public record VersionedResource<T>(T resource, ResourceVersion version) {
+}
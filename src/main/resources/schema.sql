@@ -1,5 +1,5 @@
 
-CREATE TABLE category (
+CREATE TABLE IF NOT EXISTS category (
     id UUID NOT NULL,
     name VARCHAR(255) NOT NULL,
     description TEXT,
@@ -9,7 +9,7 @@ CREATE TABLE category (
     PRIMARY KEY (id, processed_to)
 );
 
-CREATE TABLE task (
+CREATE TABLE IF NOT EXISTS task (
     id UUID NOT NULL,
     name VARCHAR(255) NOT NULL,
     description TEXT,
@@ -25,3 +25,26 @@ CREATE TABLE task (
     PRIMARY KEY (id, processed_to),
     FOREIGN KEY (category_id, category_processed_to) REFERENCES category(id, processed_to)
 );
+
+-- Current versions ordered by change time, used by the delta sync endpoint
+CREATE INDEX IF NOT EXISTS category_processed_from_idx ON category (processed_to, processed_from, id);
+CREATE INDEX IF NOT EXISTS task_processed_from_idx ON task (processed_to, processed_from, id);
+
+-- Task change events written in the same transaction as the task version, drained by the outbox dispatcher
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    task_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Databases created before the sequence keep the identity column of the first outbox table, see OutboxIdMigration
+
+-- Failed deliveries are retried with a growing delay and parked as dead letters after the last attempt
+ALTER TABLE task_outbox ADD COLUMN IF NOT EXISTS attempts INT DEFAULT 0 NOT NULL;
+ALTER TABLE task_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE task_outbox ADD COLUMN IF NOT EXISTS dead_letter BOOLEAN DEFAULT FALSE NOT NULL;
+CREATE INDEX IF NOT EXISTS task_outbox_task_idx ON task_outbox (task_id, id);
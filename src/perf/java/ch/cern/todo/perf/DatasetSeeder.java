@@ -0,0 +1,209 @@
+package ch.cern.todo.perf;
+
+import ch.cern.todo.category.dataModels.CategoryStatus;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Writes a production sized dataset with realistic version histories straight into the {@code category} and
+ * {@code task} tables, bypassing JPA.
+ * <p>
+ * Every task gets between one and {@code --max-versions} versions following the application's milestone
+ * convention: closed versions end where the next one starts and, like the rows written by the services, do not
+ * reference a category, while the current version ends at {@code 9999-12-31 12:00:00}. Rows are inserted in JDBC
+ * batches with referential checks disabled and the change time index dropped for the duration of the
+ * load; ids are time ordered so primary key inserts append to the index. The random generator is seeded, so the
+ * same options always produce the same dataset.
+ * </p>
+ * Options: {@code --url}, {@code --categories}, {@code --tasks}, {@code --max-versions}, {@code --batch-size},
+ * {@code --seed}.
+ */
+public class DatasetSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    static final Timestamp CURRENT_VERSION = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 12, 0, 0));
+    static final String CATEGORY_PREFIX = "Seeded category ";
+    static final String[] PROFILES = {"adriBana", "mareNowa", "janKowa", "annaZiel", "piotWisn", "kasiLewa"};
+
+    private static final String INSERT_CATEGORY = "INSERT INTO category (id, name, description, status, "
+            + "processed_from, processed_to) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO task (id, name, description, dead_line, status, "
+            + "priority_status, assigned_to, reported_by, processed_from, processed_to, category_id, "
+            + "category_processed_to) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final TaskStatus[] OPEN_STATUSES = {TaskStatus.CREATED, TaskStatus.IN_PROGRESS,
+            TaskStatus.BLOCKED, TaskStatus.HOLD, TaskStatus.COMPLETED};
+
+    private final String url;
+    private final int categories;
+    private final int tasks;
+    private final int maxVersions;
+    private final int batchSize;
+    private final Random random;
+    private long sequence;
+    private final LocalDateTime historyStart = LocalDateTime.now().minusYears(1);
+
+    public DatasetSeeder(String url, int categories, int tasks, int maxVersions, int batchSize, long seed) {
+        this.url = url;
+        this.categories = categories;
+        this.tasks = tasks;
+        this.maxVersions = maxVersions;
+        this.batchSize = batchSize;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfOptions options = new PerfOptions(args);
+        new DatasetSeeder(options.get("url", PerfOptions.DEFAULT_JDBC_URL),
+                options.getInt("categories", 200),
+                options.getInt("tasks", 1_000_000),
+                options.getInt("max-versions", 4),
+                options.getInt("batch-size", 5_000),
+                options.getLong("seed", 42L)).seed();
+    }
+
+    public void seed() throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password")) {
+            createSchema(connection);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                // building the change time index once at the end is far cheaper than maintaining it per row
+                statement.execute("DROP INDEX IF EXISTS task_processed_from_idx");
+            }
+            UUID[] categoryIds = insertCategories(connection);
+            long rows = insertTasks(connection, categoryIds);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+            createSchema(connection);
+            connection.commit();
+            connection.commit();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            logger.info("Seeded {} categories and {} tasks ({} task versions) in {} s ({} rows/s)",
+                    categories, tasks, rows, elapsed.toSeconds(), rows * 1_000 / Math.max(1, elapsed.toMillis()));
+        }
+    }
+
+    private void createSchema(Connection connection) throws SQLException, IOException {
+        try (InputStream schema = DatasetSeeder.class.getResourceAsStream("/schema.sql");
+             Statement statement = connection.createStatement()) {
+            if (schema == null) {
+                throw new IllegalStateException("schema.sql not found on the classpath");
+            }
+            for (String sql : new String(schema.readAllBytes(), StandardCharsets.UTF_8).split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private UUID[] insertCategories(Connection connection) throws SQLException {
+        UUID[] categoryIds = new UUID[categories];
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_CATEGORY)) {
+            for (int i = 0; i < categories; i++) {
+                categoryIds[i] = uuid();
+                Timestamp created = Timestamp.valueOf(historyStart.plusMinutes(i));
+                Timestamp renamed = Timestamp.valueOf(historyStart.plusDays(1).plusMinutes(i));
+                // every category has been edited once, so lookups also have to skip a closed version
+                addCategory(insert, categoryIds[i], CATEGORY_PREFIX + i + " (draft)", created, renamed);
+                addCategory(insert, categoryIds[i], CATEGORY_PREFIX + i, renamed, CURRENT_VERSION);
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return categoryIds;
+    }
+
+    private void addCategory(PreparedStatement insert, UUID id, String name, Timestamp from, Timestamp to)
+            throws SQLException {
+        insert.setObject(1, id);
+        insert.setString(2, name);
+        insert.setString(3, "Category " + name + " seeded for load tests");
+        insert.setInt(4, CategoryStatus.ACTIVE.ordinal());
+        insert.setTimestamp(5, from);
+        insert.setTimestamp(6, to);
+        insert.addBatch();
+    }
+
+    private long insertTasks(Connection connection, UUID[] categoryIds) throws SQLException {
+        long rows = 0;
+        long secondsOfHistory = Duration.between(historyStart, LocalDateTime.now()).toSeconds();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_TASK)) {
+            for (int i = 0; i < tasks; i++) {
+                UUID id = uuid();
+                int categoryIndex = skewedIndex(categoryIds.length);
+                String reportedBy = PROFILES[random.nextInt(PROFILES.length)];
+                Timestamp deadLine = Timestamp.valueOf(LocalDateTime.now().plusDays(1 + random.nextInt(365)));
+                TaskPriorityStatus priority = TaskPriorityStatus.values()[random.nextInt(TaskPriorityStatus.values().length)];
+                int versions = 1 + random.nextInt(maxVersions);
+                long changedAt = random.nextLong(secondsOfHistory / 2);
+
+                for (int version = 0; version < versions; version++) {
+                    boolean current = version == versions - 1;
+                    long nextChange = changedAt + 1 + random.nextLong((secondsOfHistory - changedAt) / versions + 1);
+                    TaskStatus status = current && random.nextInt(10) == 0
+                            ? TaskStatus.DELETED
+                            : OPEN_STATUSES[Math.min(version + random.nextInt(2), OPEN_STATUSES.length - 1)];
+                    boolean linked = current && !status.isDeleted();
+
+                    insert.setObject(1, id);
+                    insert.setString(2, "Seeded task " + i + " v" + version);
+                    insert.setString(3, "Version " + version + " of a task seeded for load tests");
+                    insert.setTimestamp(4, deadLine);
+                    insert.setInt(5, status.ordinal());
+                    insert.setInt(6, priority.ordinal());
+                    insert.setString(7, PROFILES[random.nextInt(PROFILES.length)]);
+                    insert.setString(8, reportedBy);
+                    insert.setTimestamp(9, Timestamp.valueOf(historyStart.plusSeconds(changedAt)));
+                    insert.setTimestamp(10, current ? CURRENT_VERSION : Timestamp.valueOf(historyStart.plusSeconds(nextChange)));
+                    insert.setObject(11, linked ? categoryIds[categoryIndex] : null);
+                    insert.setTimestamp(12, linked ? CURRENT_VERSION : null);
+                    insert.addBatch();
+                    changedAt = nextChange;
+
+                    if (++rows % batchSize == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    logger.info("Seeded {} of {} tasks", i + 1, tasks);
+                }
+            }
+            insert.executeBatch();
+        }
+        return rows;
+    }
+
+    /**
+     * Picks low indexes more often, so a few categories are large and most are small.
+     */
+    private int skewedIndex(int size) {
+        double value = random.nextDouble();
+        return (int) (value * value * size);
+    }
+
+    private UUID uuid() {
+        // time ordered like UUIDv7, so primary key inserts append instead of splitting random index pages
+        return new UUID((++sequence << 16) | 0x7000 | random.nextInt(0x1000), random.nextLong());
+    }
+}
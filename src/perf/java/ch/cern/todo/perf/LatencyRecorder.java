@@ -0,0 +1,54 @@
+package ch.cern.todo.perf;
+
+import java.util.Arrays;
+
+/**
+ * Records raw latencies of one operation on one worker thread; recorders are merged once the run is over, so
+ * recording never contends and percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the latency in milliseconds below which the given fraction of the samples fall; sorts in place.
+     */
+    double percentileMillis(double fraction) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        Arrays.sort(latencies, 0, count);
+        int index = (int) Math.min(count - 1, Math.ceil(fraction * count) - 1);
+        return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,333 @@
+package ch.cern.todo.perf;
+
+import ch.cern.todo.TodoApplication;
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the application on a random port against a (seeded) H2 database and drives {@code TaskController} and
+ * {@code CategoryController} from several threads with a configurable read/write mix.
+ * <p>
+ * Each worker picks an operation, sends it and records the latency; samples taken during the warm-up are
+ * discarded. At the end throughput and p50/p99/p999 latencies are reported per operation and overall. Requests
+ * answered with a status other than 2xx/304 count as errors.
+ * </p>
+ * <p>
+ * {@code --virtual-threads} serves requests on virtual threads instead of the Tomcat worker pool (whose size is set
+ * by {@code --tomcat-max-threads}); {@code --compare-thread-modes=true} runs the test once in each mode, each against
+ * a freshly started application, and compares their throughput and tail latencies.
+ * </p>
+ * <p>
+ * {@code --bulk-workers} additionally runs that many workers sending only exports and large searches, which the
+ * application serves in its bulk lane; running with {@code --lanes=false} as well shows how far interactive latency
+ * suffers once bulk work shares the request threads and connections.
+ * </p>
+ * <p>
+ * All workers authenticate as the same user, so the per-user rate limit is off unless {@code --rate-limit} sets the
+ * permits per second; requests shed by the concurrency limit count as errors.
+ * </p>
+ * <p>
+ * {@code --stack=reactive} starts the application with the {@code reactive} profile, reading from the same database
+ * through {@code --r2dbc-url}; {@code --compare-stacks=true} runs the test against each stack in turn. Every client
+ * thread holds its own connection, so high connection counts are driven with a large {@code --threads}.
+ * </p>
+ * Options: {@code --url}, {@code --threads}, {@code --warmup-seconds}, {@code --duration-seconds},
+ * {@code --read-ratio}, {@code --sample-size}, {@code --user}, {@code --password}, {@code --virtual-threads},
+ * {@code --tomcat-max-threads}, {@code --compare-thread-modes}, {@code --rate-limit}, {@code --bulk-workers},
+ * {@code --lanes}, {@code --stack}, {@code --r2dbc-url}, {@code --compare-stacks}.
+ */
+public class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final String SERVLET_STACK = "servlet";
+    private static final String REACTIVE_STACK = "reactive";
+
+    enum Operation {
+        GET_TASK(true, 45),
+        GET_TASKS_BY_IDS(true, 15),
+        SEARCH_TASKS(true, 25),
+        SEARCH_CATEGORIES(true, 15),
+        UPDATE_STATUS(false, 60),
+        CREATE_TASK(false, 35),
+        CREATE_CATEGORY(false, 5),
+        EXPORT_TASKS(true, 1, true),
+        LARGE_SEARCH(true, 1, true);
+
+        private final boolean read;
+        private final int weight;
+        private final boolean bulk;
+
+        Operation(boolean read, int weight) {
+            this(read, weight, false);
+        }
+
+        Operation(boolean read, int weight, boolean bulk) {
+            this.read = read;
+            this.weight = weight;
+            this.bulk = bulk;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String authorization;
+    private final List<String> taskIds;
+    private final List<String> categoryNames;
+    private final String reportedBy;
+    private final double readRatio;
+
+    LoadDriver(String baseUrl, String user, String password, List<String> taskIds, List<String> categoryNames,
+               double readRatio) {
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.taskIds = taskIds;
+        this.categoryNames = categoryNames;
+        this.reportedBy = user;
+        this.readRatio = readRatio;
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfOptions options = new PerfOptions(args);
+        String stack = options.get("stack", SERVLET_STACK);
+        boolean virtualThreads = Boolean.parseBoolean(options.get("virtual-threads", "false"));
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+        if (Boolean.parseBoolean(options.get("compare-stacks", "false"))) {
+            results.put(SERVLET_STACK, drive(options, SERVLET_STACK, virtualThreads));
+            results.put(REACTIVE_STACK, drive(options, REACTIVE_STACK, virtualThreads));
+            compare("Stack", results, options);
+        } else if (Boolean.parseBoolean(options.get("compare-thread-modes", "false"))) {
+            results.put("platform", drive(options, stack, false));
+            results.put("virtual", drive(options, stack, true));
+            compare("Thread mode", results, options);
+        } else {
+            drive(options, stack, virtualThreads);
+        }
+    }
+
+    private static void compare(String dimension, Map<String, LatencyRecorder> results, PerfOptions options) {
+        double seconds = options.getLong("duration-seconds", 60);
+        StringBuilder report = new StringBuilder(String.format("%n%-18s %10s %8s %10s %9s %9s %9s %9s%n",
+                dimension, "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        results.forEach((name, recorder) -> appendLine(report, name, recorder, seconds));
+        logger.info("{} comparison with {} concurrent clients:{}", dimension, options.getInt("threads", 16), report);
+    }
+
+    private static LatencyRecorder drive(PerfOptions options, String stack, boolean virtualThreads) throws Exception {
+        String url = options.get("url", PerfOptions.DEFAULT_JDBC_URL);
+        // passed as command line arguments, which take precedence over application.properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                // H2 counts as embedded, so Hibernate would otherwise drop the seeded tables on startup
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.h2.console.enabled=false",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + options.getInt("tomcat-max-threads", 200),
+                "--todo.rate-limit.permits-per-second=" + options.getDouble("rate-limit", 0),
+                "--todo.lanes.enabled=" + Boolean.parseBoolean(options.get("lanes", "true")),
+                "--logging.level.org.springframework.jdbc.datasource.init=WARN"));
+        if (REACTIVE_STACK.equals(stack)) {
+            arguments.add("--spring.profiles.active=" + REACTIVE_STACK);
+            arguments.add("--spring.r2dbc.url=" + options.get("r2dbc-url", url.replace("jdbc:h2:file:", "r2dbc:h2:file:///")));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .run(arguments.toArray(String[]::new));
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            int sampleSize = options.getInt("sample-size", 10_000);
+            List<String> taskIds = jdbcTemplate.queryForList("SELECT id FROM task WHERE processed_to = ? "
+                    + "AND category_id IS NOT NULL LIMIT ?", String.class, DatasetSeeder.CURRENT_VERSION, sampleSize);
+            List<String> categoryNames = jdbcTemplate.queryForList("SELECT name FROM category WHERE processed_to = ? "
+                    + "LIMIT ?", String.class, DatasetSeeder.CURRENT_VERSION, sampleSize);
+            if (taskIds.isEmpty() || categoryNames.isEmpty()) {
+                throw new IllegalStateException("No tasks or categories found in " + url + ", run seedDataset first");
+            }
+            logger.info("Driving the {} stack at http://localhost:{} on {} threads with {} sampled tasks and {} categories",
+                    stack, port, virtualThreads ? "virtual" : "platform", taskIds.size(), categoryNames.size());
+            return new LoadDriver("http://localhost:" + port,
+                    options.get("user", "adriBana"),
+                    options.get("password", "password"),
+                    taskIds, categoryNames,
+                    options.getDouble("read-ratio", 0.9))
+                    .run(options.getInt("threads", 16),
+                            options.getInt("bulk-workers", 0),
+                            Duration.ofSeconds(options.getLong("warmup-seconds", 10)),
+                            Duration.ofSeconds(options.getLong("duration-seconds", 60)));
+        } finally {
+            context.close();
+        }
+    }
+
+    LatencyRecorder run(int threads, int bulkWorkers, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        List<Map<Operation, LatencyRecorder>> perThread = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads + bulkWorkers; i++) {
+            Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                recorders.put(operation, new LatencyRecorder());
+            }
+            perThread.add(recorders);
+            boolean bulk = i >= threads;
+            workers.add(Thread.ofPlatform().name((bulk ? "bulk-" : "load-") + i)
+                    .start(() -> work(recorders, bulk, measureFrom, measureUntil)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return report(perThread, duration);
+    }
+
+    private void work(Map<Operation, LatencyRecorder> recorders, boolean bulk, long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < measureUntil) {
+            Operation operation = pick(random, bulk);
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                int status = client.send(request(operation, random), HttpResponse.BodyHandlers.discarding()).statusCode();
+                success = status / 100 == 2 || status == 304;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                success = false;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom && end <= measureUntil) {
+                LatencyRecorder recorder = recorders.get(operation);
+                if (success) {
+                    recorder.record(end - start);
+                } else {
+                    recorder.recordError();
+                }
+            }
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random, boolean bulk) {
+        boolean read = bulk || random.nextDouble() < readRatio;
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += operation.read == read && operation.bulk == bulk ? operation.weight : 0;
+        }
+        int ticket = random.nextInt(total);
+        for (Operation operation : Operation.values()) {
+            if (operation.read == read && operation.bulk == bulk && (ticket -= operation.weight) < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operation picked");
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) throws Exception {
+        return switch (operation) {
+            case GET_TASK -> get("/task/" + any(taskIds, random)).build();
+            case GET_TASKS_BY_IDS -> get("/task?ids=" + IntStream.range(0, 20)
+                    .mapToObj(i -> any(taskIds, random)).collect(Collectors.joining(","))).build();
+            case SEARCH_TASKS -> get("/task?size=20")
+                    .method("GET", json(List.of(new SearchCriteria("category.name", "=", any(categoryNames, random)))))
+                    .build();
+            case SEARCH_CATEGORIES -> get("/category?fields=id,name,description&size=20")
+                    .method("GET", json(List.of(new SearchCriteria("name", ":", "category " + random.nextInt(10)))))
+                    .build();
+            case UPDATE_STATUS -> get("/task/updateStatus/" + any(taskIds, random) + "?taskStatus="
+                    + (random.nextBoolean() ? TaskStatus.IN_PROGRESS : TaskStatus.BLOCKED).name())
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CREATE_TASK -> get("/task").POST(json(new TaskResource(null, "Load test task",
+                    "Created by the load driver", Timestamp.valueOf(LocalDateTime.now().plusDays(30)),
+                    TaskStatus.CREATED, TaskPriorityStatus.MEDIUM, reportedBy, null, reportedBy, null,
+                    any(categoryNames, random)))).build();
+            case CREATE_CATEGORY -> get("/category").POST(json(new CategoryResource(null,
+                    "Load test category " + UUID.randomUUID(), "Created by the load driver", null))).build();
+            // the reactive export filters by the parameter, the servlet export by the criteria
+            case EXPORT_TASKS -> {
+                String categoryName = any(categoryNames, random);
+                yield get("/task/export?categoryName=" + URLEncoder.encode(categoryName, StandardCharsets.UTF_8))
+                        .setHeader("Accept", MediaType.APPLICATION_NDJSON_VALUE)
+                        .method("GET", json(List.of(new SearchCriteria("category.name", "=", categoryName))))
+                        .build();
+            }
+            case LARGE_SEARCH -> get("/task?size=1000")
+                    .method("GET", json(List.of(new SearchCriteria("category.name", "=", any(categoryNames, random)))))
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws Exception {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static String any(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private LatencyRecorder report(List<Map<Operation, LatencyRecorder>> perThread, Duration duration) {
+        double seconds = duration.toMillis() / 1_000.0;
+        LatencyRecorder overall = new LatencyRecorder();
+        StringBuilder report = new StringBuilder(String.format("%n%-18s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Operation", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder merged = new LatencyRecorder();
+            perThread.forEach(recorders -> merged.merge(recorders.get(operation)));
+            overall.merge(merged);
+            appendLine(report, operation.name(), merged, seconds);
+        }
+        appendLine(report, "TOTAL", overall, seconds);
+        logger.info("Load test finished after {} s of measurement:{}", duration.toSeconds(), report);
+        return overall;
+    }
+
+    private static void appendLine(StringBuilder report, String name, LatencyRecorder recorder, double seconds) {
+        report.append(String.format("%-18s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, recorder.count(),
+                recorder.errors(), recorder.count() / seconds, recorder.percentileMillis(0.50),
+                recorder.percentileMillis(0.99), recorder.percentileMillis(0.999), recorder.percentileMillis(1.0)));
+    }
+}
@@ -0,0 +1,40 @@
+package ch.cern.todo.perf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options of the performance tools, with defaults supplied by the caller.
+ */
+final class PerfOptions {
+
+    static final String DEFAULT_JDBC_URL = "jdbc:h2:file:./build/perf/perfdb";
+
+    private final Map<String, String> values = new HashMap<>();
+
+    PerfOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+}
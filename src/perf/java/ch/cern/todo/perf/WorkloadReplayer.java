@@ -0,0 +1,254 @@
+package ch.cern.todo.perf;
+
+import ch.cern.todo.capture.dataModels.CapturedRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Re-issues a workload recorded by {@code WorkloadCaptureFilter} against a running instance and compares latency
+ * distributions between builds.
+ * <p>
+ * Requests are sent in captured order with their original method, path, query, body and Accept header, at the
+ * original pace scaled by {@code --speed} ({@code 2} replays twice as fast, {@code 0} as fast as
+ * {@code --concurrency} allows). Latencies are grouped per endpoint, with ids in paths and query strings replaced by
+ * placeholders, and written as CSV to {@code --report}. When {@code --baseline} names the report of an earlier
+ * build the two distributions are printed side by side; {@code --baseline=capture} compares against the server
+ * side timings recorded in the capture itself.
+ * </p>
+ * Options: {@code --capture}, {@code --target}, {@code --speed}, {@code --concurrency}, {@code --report},
+ * {@code --baseline}, {@code --user}, {@code --password}.
+ */
+public class WorkloadReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadReplayer.class);
+
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern QUERY_VALUE = Pattern.compile("=[^&]*");
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String REPORT_HEADER = "endpoint,count,errors,p50_ms,p90_ms,p99_ms,p999_ms";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String target;
+    private final String authorization;
+    private final double speed;
+    private final int concurrency;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    WorkloadReplayer(String target, String user, String password, double speed, int concurrency) {
+        this.target = target;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.speed = speed;
+        this.concurrency = concurrency;
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfOptions options = new PerfOptions(args);
+        List<CapturedRequest> workload = read(Path.of(options.get("capture", "capture/workload.cap")));
+        WorkloadReplayer replayer = new WorkloadReplayer(options.get("target", "http://localhost:8080"),
+                options.get("user", "adriBana"), options.get("password", "password"),
+                options.getDouble("speed", 1.0), options.getInt("concurrency", 64));
+        Map<String, double[]> current = replayer.replay(workload);
+        Path report = Path.of(options.get("report", "build/perf/replay.csv"));
+        write(report, current);
+
+        String baselineOption = options.get("baseline", "");
+        if (!baselineOption.isEmpty()) {
+            Map<String, double[]> baseline = baselineOption.equals("capture")
+                    ? summarise(capturedLatencies(workload))
+                    : readReport(Path.of(baselineOption));
+            logger.info("Latency comparison with {}:{}", baselineOption, compare(baseline, current));
+        }
+    }
+
+    static List<CapturedRequest> read(Path capture) throws IOException {
+        List<CapturedRequest> workload = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(capture)))) {
+            if (input.readInt() != CapturedRequest.MAGIC) {
+                throw new IllegalArgumentException(capture + " is not a workload capture file");
+            }
+            while (true) {
+                try {
+                    workload.add(CapturedRequest.readFrom(input));
+                } catch (EOFException ex) {
+                    return workload;
+                }
+            }
+        }
+    }
+
+    Map<String, double[]> replay(List<CapturedRequest> workload) throws InterruptedException {
+        if (workload.isEmpty()) {
+            return Map.of();
+        }
+        logger.info("Replaying {} requests against {} at speed {}", workload.size(), target, speed);
+        long firstCaptured = workload.get(0).startedAtMillis();
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedRequest captured : workload) {
+                if (speed > 0) {
+                    long due = start + (long) ((captured.startedAtMillis() - firstCaptured) * 1_000_000 / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        send(captured);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("Replayed {} requests in {} ms", workload.size(), elapsed.toMillis());
+        return summarise(recorders);
+    }
+
+    private void send(CapturedRequest captured) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(endpoint(captured), key -> new LatencyRecorder());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + captured.path()
+                        + (captured.query().isEmpty() ? "" : "?" + captured.query())))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", authorization)
+                .method(captured.method(), captured.body().length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(captured.body()));
+        if (!captured.contentType().isEmpty()) {
+            request.header("Content-Type", captured.contentType());
+        }
+        if (!captured.accept().isEmpty()) {
+            request.header("Accept", captured.accept());
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                // drained, so connection reuse and transfer time match a real client
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            long nanos = System.nanoTime() - start;
+            synchronized (recorder) {
+                if (response.statusCode() == captured.status()) {
+                    recorder.record(nanos);
+                } else {
+                    recorder.recordError();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            synchronized (recorder) {
+                recorder.recordError();
+            }
+        }
+    }
+
+    static String endpoint(CapturedRequest captured) {
+        String path = UUID_PATTERN.matcher(captured.path()).replaceAll("{id}");
+        String query = QUERY_VALUE.matcher(captured.query()).replaceAll("");
+        return captured.method() + " " + path + (query.isEmpty() ? "" : "?" + query);
+    }
+
+    private static Map<String, LatencyRecorder> capturedLatencies(List<CapturedRequest> workload) {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (CapturedRequest captured : workload) {
+            recorders.computeIfAbsent(endpoint(captured), key -> new LatencyRecorder()).record(captured.durationNanos());
+        }
+        return recorders;
+    }
+
+    /**
+     * Reduces the recorders to {@code [count, errors, p50, p90, p99, p999]} per endpoint, sorted by endpoint.
+     */
+    private static Map<String, double[]> summarise(Map<String, LatencyRecorder> recorders) {
+        Map<String, double[]> summary = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> {
+            double[] values = new double[2 + PERCENTILES.length];
+            values[0] = recorder.count();
+            values[1] = recorder.errors();
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                values[2 + i] = recorder.percentileMillis(PERCENTILES[i]);
+            }
+            summary.put(endpoint, values);
+        });
+        return summary;
+    }
+
+    private static void write(Path report, Map<String, double[]> summary) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(REPORT_HEADER);
+        summary.forEach((endpoint, values) -> lines.add(String.format("\"%s\",%d,%d,%.3f,%.3f,%.3f,%.3f",
+                endpoint.replace("\"", "\"\""), (long) values[0], (long) values[1],
+                values[2], values[3], values[4], values[5])));
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.write(report, lines);
+        logger.info("Replay report written to {}", report.toAbsolutePath());
+    }
+
+    private static Map<String, double[]> readReport(Path report) throws IOException {
+        Map<String, double[]> summary = new TreeMap<>();
+        List<String> lines = Files.readAllLines(report);
+        for (String line : lines.subList(1, lines.size())) {
+            int endOfEndpoint = line.lastIndexOf('"');
+            String endpoint = line.substring(1, endOfEndpoint).replace("\"\"", "\"");
+            String[] columns = line.substring(endOfEndpoint + 2).split(",");
+            double[] values = new double[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = Double.parseDouble(columns[i]);
+            }
+            summary.put(endpoint, values);
+        }
+        return summary;
+    }
+
+    private static String compare(Map<String, double[]> baseline, Map<String, double[]> current) {
+        StringBuilder table = new StringBuilder(String.format("%n%-60s %8s %8s %19s %19s %19s%n",
+                "Endpoint", "Count", "Errors", "p50 ms (base/now)", "p99 ms (base/now)", "p999 ms (base/now)"));
+        current.forEach((endpoint, now) -> {
+            double[] base = baseline.getOrDefault(endpoint, new double[]{0, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN});
+            table.append(String.format("%-60s %8d %8d %9.2f/%-9.2f %9.2f/%-9.2f %9.2f/%-9.2f%n",
+                    abbreviate(endpoint), (long) now[0], (long) now[1], base[2], now[2], base[4], now[4], base[5], now[5]));
+        });
+        return table.toString();
+    }
+
+    private static String abbreviate(String endpoint) {
+        return endpoint.length() <= 60 ? endpoint : endpoint.substring(0, 57) + "...";
+    }
+}
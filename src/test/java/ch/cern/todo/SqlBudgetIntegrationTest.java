@@ -0,0 +1,156 @@
+package ch.cern.todo;
+
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.support.SqlCountingConfig;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static ch.cern.todo.support.SqlStatementCounter.assertWithinBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL budgets per endpoint: each request may execute at most the given number of statements and read at most
+ * the given number of rows. The fixture is a category with {@value #TASKS} tasks, so a budget that only holds for
+ * this size (an N+1 query, loading the tasks of a category that was not asked for) fails here.
+ * <p>
+ * Budgets are the current cost. Lower them when a change makes an endpoint cheaper; raising one needs a reason in
+ * the change that does it.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlCountingConfig.class)
+@WithMockUser(username = "adriBana", roles = {"ADMIN"})
+class SqlBudgetIntegrationTest {
+
+    private static final int TASKS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String categoryName;
+    private final List<String> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        categoryName = "Budget-" + UUID.randomUUID();
+        mockMvc.perform(post("/category")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CategoryResource(null, categoryName, "SQL budget fixture", Collections.emptyList()))))
+                .andExpect(status().isOk());
+        for (int i = 0; i < TASKS; i++) {
+            String response = mockMvc.perform(post("/task")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(newTask("Budget task " + i))))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            taskIds.add(objectMapper.readTree(response).get("id").asText());
+        }
+    }
+
+    @Test
+    void testGetTask() throws Exception {
+        assertWithinBudget("GET /task/{id}", 3, 7, () ->
+                mockMvc.perform(get("/task/" + taskIds.get(0))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetTasksByIds() throws Exception {
+        assertWithinBudget("GET /task?ids", 2, 10, () ->
+                mockMvc.perform(get("/task").param("ids", String.join(",", taskIds))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSearchTasks() throws Exception {
+        assertWithinBudget("GET /task", 3, 11, () ->
+                mockMvc.perform(get("/task")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(categoryCriteria("category.name")))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSearchTasksWithFields() throws Exception {
+        assertWithinBudget("GET /task?fields", 2, 6, () ->
+                mockMvc.perform(get("/task")
+                                .param("fields", "id,name,status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(categoryCriteria("category.name")))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetCategory() throws Exception {
+        assertWithinBudget("GET /category/{name}", 3, 7, () ->
+                mockMvc.perform(get("/category/" + categoryName)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSearchCategoriesWithFields() throws Exception {
+        assertWithinBudget("GET /category?fields", 2, 2, () ->
+                mockMvc.perform(get("/category")
+                                .param("fields", "id,name")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(categoryCriteria("name")))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testSaveTask() throws Exception {
+        assertWithinBudget("POST /task", 6, 6, () ->
+                mockMvc.perform(post("/task")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(newTask("Budget task"))))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testUpdateStatus() throws Exception {
+        assertWithinBudget("PUT /task/updateStatus/{id}", 6, 6, () ->
+                mockMvc.perform(put("/task/updateStatus/" + taskIds.get(0)).param("taskStatus", "IN_PROGRESS"))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testBulkUpdateStatuses() throws Exception {
+        assertWithinBudget("PUT /task/bulk/status", 7, 20, () ->
+                mockMvc.perform(put("/task/bulk/status")
+                                .param("taskStatus", "IN_PROGRESS")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(taskIds)))
+                        .andExpect(status().isOk()));
+    }
+
+    private TaskResource newTask(String name) {
+        return new TaskResource(null, name, "SQL budget fixture", Timestamp.valueOf(LocalDateTime.now().plusDays(7)),
+                TaskStatus.CREATED, TaskPriorityStatus.LOW, "adriBana", null, "adriBana", null, categoryName);
+    }
+
+    private String categoryCriteria(String key) throws Exception {
+        return objectMapper.writeValueAsString(List.of(new SearchCriteria(key, "=", categoryName)));
+    }
+}
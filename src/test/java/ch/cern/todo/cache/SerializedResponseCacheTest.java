@@ -0,0 +1,104 @@
+package ch.cern.todo.cache;
+
+import ch.cern.todo.cache.dataModels.CacheStats;
+import ch.cern.todo.cache.dataModels.ResponseFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SerializedResponseCache cache(long maxBytes, boolean offHeap) {
+        return new SerializedResponseCache(objectMapper,
+                new MappingJackson2CborHttpMessageConverter(new CBORMapper()),
+                new MappingJackson2SmileHttpMessageConverter(new SmileMapper()),
+                maxBytes, offHeap);
+    }
+
+    @Test
+    void testSecondLookupOfSameVersionIsServedFromCache() throws Exception {
+        SerializedResponseCache cache = cache(1024, false);
+        AtomicInteger loads = new AtomicInteger();
+
+        byte[] first = cache.get("task:1@v1", ResponseFormat.JSON, () -> Map.of("id", loads.incrementAndGet()));
+        byte[] second = cache.get("task:1@v1", ResponseFormat.JSON, () -> Map.of("id", loads.incrementAndGet()));
+
+        assertArrayEquals(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(Map.of("id", 1), objectMapper.readValue(second, Map.class));
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(first.length, stats.bytes());
+    }
+
+    @Test
+    void testNewVersionAndOtherFormatAreSeparateEntries() throws Exception {
+        SerializedResponseCache cache = cache(1024, false);
+
+        cache.get("task:1@v1", ResponseFormat.JSON, () -> Map.of("id", 1));
+        cache.get("task:1@v2", ResponseFormat.JSON, () -> Map.of("id", 1));
+        byte[] cbor = cache.get("task:1@v2", ResponseFormat.CBOR, () -> Map.of("id", 1));
+
+        assertEquals(3, cache.getStats().entries());
+        assertEquals(Map.of("id", 1), new CBORMapper().readValue(cbor, Map.class));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvictedToStayWithinBudget() {
+        byte[] entry = new SerializedResponseCache(objectMapper,
+                new MappingJackson2CborHttpMessageConverter(new CBORMapper()),
+                new MappingJackson2SmileHttpMessageConverter(new SmileMapper()), 1024, false)
+                .get("probe", ResponseFormat.JSON, () -> Map.of("id", "x".repeat(20)));
+        SerializedResponseCache cache = cache(entry.length * 2L, true);
+
+        cache.get("a", ResponseFormat.JSON, () -> Map.of("id", "a".repeat(20)));
+        cache.get("b", ResponseFormat.JSON, () -> Map.of("id", "b".repeat(20)));
+        cache.get("a", ResponseFormat.JSON, () -> Map.of("id", "a".repeat(20)));
+        cache.get("c", ResponseFormat.JSON, () -> Map.of("id", "c".repeat(20)));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", ResponseFormat.JSON, () -> Map.of("id", loads.incrementAndGet()));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(0, loads.get());
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertTrue(stats.bytes() <= stats.maxBytes());
+        assertTrue(stats.offHeap());
+    }
+
+    @Test
+    void testMissingResourceIsNotCached() {
+        SerializedResponseCache cache = cache(1024, false);
+
+        assertNull(cache.get("task:1@v1", ResponseFormat.JSON, () -> null));
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    @Test
+    void testEntryPutUnderLoadedVersionIsOnlyFoundUnderThatVersion() throws Exception {
+        SerializedResponseCache cache = cache(1024, false);
+
+        assertNull(cache.getIfPresent("task:1@v1", ResponseFormat.JSON));
+        byte[] put = cache.put("task:1@v2", ResponseFormat.JSON, Map.of("id", 2));
+
+        assertNull(cache.getIfPresent("task:1@v1", ResponseFormat.JSON));
+        assertArrayEquals(put, cache.getIfPresent("task:1@v2", ResponseFormat.JSON));
+        assertEquals(Map.of("id", 2), objectMapper.readValue(put, Map.class));
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.entries());
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+}
@@ -0,0 +1,77 @@
+package ch.cern.todo.capture;
+
+import ch.cern.todo.capture.dataModels.CapturedRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadCaptureFilterTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private WorkloadCaptureWriter writer;
+    private WorkloadCaptureFilter filter;
+
+    private final FilterChain chain = (request, response) -> {
+        request.getInputStream().readAllBytes();
+        ((HttpServletResponse) response).setStatus(200);
+    };
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("workload.cap");
+        writer = new WorkloadCaptureWriter(file.toString());
+        filter = new WorkloadCaptureFilter(writer, new String[]{"/task", "/category"}, 1.0, 1024);
+    }
+
+    @Test
+    void testCapturesRequestUnderConfiguredPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task");
+        request.setQueryString("page=1&size=20");
+        request.setContentType("application/json");
+        request.addHeader("Accept", "application/cbor");
+        request.addHeader("Authorization", "Basic c2VjcmV0");
+        request.setContent("[{\"key\":\"name\",\"operation\":\":\",\"value\":\"plan\"}]".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        writer.close();
+
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            assertEquals(CapturedRequest.MAGIC, input.readInt());
+            CapturedRequest captured = CapturedRequest.readFrom(input);
+            assertEquals("GET", captured.method());
+            assertEquals("/task", captured.path());
+            assertEquals("page=1&size=20", captured.query());
+            assertEquals("application/cbor", captured.accept());
+            assertEquals(200, captured.status());
+            assertEquals("[{\"key\":\"name\",\"operation\":\":\",\"value\":\"plan\"}]",
+                    new String(captured.body(), StandardCharsets.UTF_8));
+            assertTrue(captured.durationNanos() > 0);
+            assertThrows(EOFException.class, input::readLong);
+        }
+        assertFalse(Files.readString(file, StandardCharsets.ISO_8859_1).contains("c2VjcmV0"));
+    }
+
+    @Test
+    void testSkipsRequestOutsideConfiguredPaths() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/cache/stats"), new MockHttpServletResponse(), chain);
+        writer.close();
+
+        assertEquals(0, writer.getCapturedCount());
+        assertEquals(Integer.BYTES, Files.size(file));
+    }
+}
@@ -2,6 +2,9 @@ package ch.cern.todo.category;
 
 import ch.cern.todo.category.dataModels.CategoryResource;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +14,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -122,4 +128,87 @@ class CategoryControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    /**
+     * Test GET /category?names= endpoint.
+     */
+    @Test
+    void testGetCategories() throws Exception {
+        String firstName = "MultiGet-" + UUID.randomUUID();
+        String secondName = "MultiGet-" + UUID.randomUUID();
+        for (String name : List.of(firstName, secondName)) {
+            mockMvc.perform(post("/category")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CategoryResource(null, name, "Multi get", Collections.emptyList()))))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/category")
+                        .param("names", secondName, firstName, "Unknown-" + UUID.randomUUID()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(secondName))
+                .andExpect(jsonPath("$[1].name").value(firstName));
+    }
+
+    /**
+     * Test conditional GET /category/{categoryName} requests.
+     */
+    @Test
+    void testConditionalGetCategory() throws Exception {
+        String name = "Conditional-" + UUID.randomUUID();
+        mockMvc.perform(post("/category")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CategoryResource(null, name, "Conditional", Collections.emptyList()))))
+                .andExpect(status().isOk());
+
+        String eTag = mockMvc.perform(get("/category/" + name))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/category/" + name).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        TaskResource task = new TaskResource(null, "Conditional Task", "Description",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)), TaskStatus.CREATED, TaskPriorityStatus.LOW,
+                "user1", null, "admin", null, name);
+        mockMvc.perform(post("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/category/" + name).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1));
+    }
+
+    /**
+     * Test GET /category?fields= endpoint.
+     */
+    @Test
+    void testGetAllCategoriesWithFields() throws Exception {
+        String name = "Sparse-" + UUID.randomUUID();
+        mockMvc.perform(post("/category")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CategoryResource(null, name, "Sparse", Collections.emptyList()))))
+                .andExpect(status().isOk());
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("name", "=", name)));
+
+        mockMvc.perform(get("/category")
+                        .param("fields", "id,name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(name))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].tasks").doesNotExist());
+
+        mockMvc.perform(get("/category")
+                        .param("fields", "name,tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].tasks").isArray())
+                .andExpect(jsonPath("$.content[0].id").doesNotExist());
+    }
 }
@@ -4,10 +4,13 @@ import ch.cern.todo.category.dataModels.Category;
 import ch.cern.todo.category.dataModels.CategoryResource;
 import ch.cern.todo.category.dataModels.CategoryStatus;
 import ch.cern.todo.exceptions.EntityAlreadyExistsException;
+import ch.cern.todo.metrics.SearchMetrics;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.stream.ChangeStreamService;
 import ch.cern.todo.tasks.TaskService;
 import ch.cern.todo.tasks.dataModels.Task;
 import ch.cern.todo.tasks.dataModels.TaskResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -30,6 +33,12 @@ class CategoryServiceImplTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private ChangeStreamService changeStreamService;
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
 
@@ -170,4 +179,25 @@ class CategoryServiceImplTest {
         verify(taskService, times(1)).deleteTask("t1");
         verify(categoryRepository, atLeastOnce()).save(any(Category.class));
     }
+
+    // ===== Test getCategories =====
+
+    @Test
+    void testGetCategories_PreservesRequestOrder() {
+        Task task = new Task();
+        task.setId("task1");
+        Category books = new Category("1", "Books", "Books", CategoryStatus.ACTIVE, List.of(task), null, null);
+        Category music = new Category("2", "Music", "Music", CategoryStatus.ACTIVE, Collections.emptyList(), null, null);
+        TaskResource taskResource = new TaskResource("task1", null, null, null, null, null, null, null, null, null, "Books");
+
+        when(categoryRepository.findAllByCategoryNameInAndProcessedTo(any())).thenReturn(List.of(books, music));
+        when(taskService.mapToResourcesWithFullNames(List.of(task))).thenReturn(List.of(taskResource));
+
+        List<CategoryResource> result = categoryServiceImpl.getCategories(List.of("Music", "Unknown", "Books"));
+
+        assertEquals(List.of("Music", "Books"), result.stream().map(CategoryResource::name).toList());
+        assertTrue(result.get(0).tasks().isEmpty());
+        assertEquals(List.of(taskResource), result.get(1).tasks());
+        verify(taskService, never()).mapToResourceWithFullNames(any());
+    }
 }
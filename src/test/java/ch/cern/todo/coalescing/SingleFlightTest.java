@@ -0,0 +1,117 @@
+package ch.cern.todo.coalescing;
+
+import ch.cern.todo.exceptions.EntityNotExistException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testIdenticalConcurrentCallsShareOneExecution() throws Throwable {
+        SingleFlight singleFlight = new SingleFlight(100);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(callers.submit(() -> call(singleFlight, "category:a", () -> {
+                runs.incrementAndGet();
+                release.await();
+                return "result";
+            })));
+            awaitInFlight(singleFlight, 1);
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(() -> call(singleFlight, "category:a", () -> "own execution")));
+            }
+            while (singleFlight.getCoalesced() < 5) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<Object> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, runs.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(5.0 / 6, singleFlight.getCoalescingRatio(), 1e-9);
+        // Once the execution completed, the next call runs again.
+        assertEquals("fresh", singleFlight.execute("category:a", () -> "fresh"));
+    }
+
+    @Test
+    void testWaitersReceiveTheException() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(100);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = callers.submit(() -> call(singleFlight, "task:1", () -> {
+                release.await();
+                throw new EntityNotExistException("Task \"1\" not exists");
+            }));
+            awaitInFlight(singleFlight, 1);
+            Future<Object> waiter = callers.submit(() -> call(singleFlight, "task:1", () -> "own execution"));
+            while (singleFlight.getCoalesced() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Object> result : List.of(leader, waiter)) {
+                Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(EntityNotExistException.class, ex.getCause());
+            }
+        }
+    }
+
+    @Test
+    void testCallersBeyondWaiterCapRunOnTheirOwn() throws Throwable {
+        SingleFlight singleFlight = new SingleFlight(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            callers.submit(() -> call(singleFlight, "search", () -> {
+                release.await();
+                return "shared";
+            }));
+            awaitInFlight(singleFlight, 1);
+            Future<Object> waiter = callers.submit(() -> call(singleFlight, "search", () -> "own execution"));
+            while (singleFlight.getCoalesced() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertEquals("own execution", singleFlight.execute("search", () -> "own execution"));
+            assertEquals("other", singleFlight.execute("other search", () -> "other"));
+            release.countDown();
+            assertEquals("shared", waiter.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, singleFlight.getOverflows());
+        assertEquals(3, singleFlight.getExecutions());
+    }
+
+    private static Object call(SingleFlight singleFlight, String key, SingleFlight.Execution<Object> execution) throws Exception {
+        try {
+            return singleFlight.execute(key, execution);
+        } catch (Exception ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitInFlight(SingleFlight singleFlight, long executions) {
+        while (singleFlight.getExecutions() < executions) {
+            Thread.onSpinWait();
+        }
+    }
+}
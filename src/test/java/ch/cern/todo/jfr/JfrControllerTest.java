@@ -0,0 +1,81 @@
+package ch.cern.todo.jfr;
+
+import ch.cern.todo.searchEngine.SearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JfrControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test that a recording started on POST /jfr/start contains the operation and search events.
+     */
+    @Test
+    @WithMockUser(username = "adriBana", roles = {"ADMIN"})
+    void testRecordingContainsOperationEvents() throws Exception {
+        mockMvc.perform(post("/jfr/start"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("default"));
+        mockMvc.perform(post("/jfr/start"))
+                .andExpect(status().isBadRequest());
+
+        try {
+            mockMvc.perform(get("/task")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(new SearchCriteria("name", ":", "jfr")))))
+                    .andExpect(status().isOk());
+
+            MvcResult dump = mockMvc.perform(get("/jfr/dump")).andReturn();
+            byte[] recording = mockMvc.perform(asyncDispatch(dump))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            Path file = Files.createTempFile("jfr-test-", ".jfr");
+            try {
+                Files.write(file, recording);
+                List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+                assertTrue(events.stream().anyMatch(event ->
+                        event.getEventType().getName().equals("ch.cern.todo.TaskOperation")
+                                && "getAllTasks".equals(event.getString("operation"))
+                                && event.getInt("criteriaCount") == 1));
+                assertTrue(events.stream().anyMatch(event ->
+                        event.getEventType().getName().equals("ch.cern.todo.SearchPredicate")
+                                && "name :".equals(event.getString("criteria"))));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            mockMvc.perform(post("/jfr/stop"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").value("STOPPED"));
+        }
+    }
+}
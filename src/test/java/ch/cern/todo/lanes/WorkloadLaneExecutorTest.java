@@ -0,0 +1,79 @@
+package ch.cern.todo.lanes;
+
+import ch.cern.todo.exceptions.ServiceOverloadedException;
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.lanes.dataModels.WorkloadLane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadLaneExecutorTest {
+
+    private final WorkloadLaneExecutor executor = new WorkloadLaneExecutor(true, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRunsBulkWorkOnLaneThreadWithCallersSecurityContext() throws Throwable {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("adriBana", null));
+
+        String result = executor.execute(WorkloadLane.BULK, () -> {
+            assertEquals(WorkloadLane.BULK, WorkloadLaneExecutor.currentLane());
+            // Nested bulk work runs in place instead of waiting for the saturated lane.
+            return executor.execute(WorkloadLane.BULK, () -> Thread.currentThread().getName()
+                    + "/" + SecurityContextHolder.getContext().getAuthentication().getName());
+        });
+
+        assertTrue(result.startsWith("lane-bulk-"), result);
+        assertTrue(result.endsWith("/adriBana"), result);
+        assertEquals(WorkloadLane.INTERACTIVE, WorkloadLaneExecutor.currentLane());
+    }
+
+    @Test
+    void testRethrowsExceptionOfBulkWork() {
+        assertThrows(ValidationException.class, () -> executor.execute(WorkloadLane.BULK, () -> {
+            throw new ValidationException("invalid");
+        }));
+    }
+
+    @Test
+    void testRejectsBulkWorkWhenLaneIsSaturated() throws Throwable {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        Thread busy = Thread.ofVirtual().start(() -> execute(() -> {
+            running.countDown();
+            proceed.await();
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Thread queued = Thread.ofVirtual().start(() -> execute(() -> null));
+        while (executor.getBulkQueued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute(WorkloadLane.BULK, () -> null));
+        assertEquals("interactive", executor.execute(WorkloadLane.INTERACTIVE, () -> "interactive"));
+        proceed.countDown();
+        busy.join();
+        queued.join();
+        assertEquals(1, executor.getRejected());
+    }
+
+    private void execute(WorkloadLaneExecutor.LaneWork<Object> work) {
+        try {
+            executor.execute(WorkloadLane.BULK, work);
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
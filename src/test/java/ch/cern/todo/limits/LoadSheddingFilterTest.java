@@ -0,0 +1,130 @@
+package ch.cern.todo.limits;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    private final FilterChain chain = (request, response) -> ((HttpServletResponse) response).setStatus(200);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRejectsPrincipalOverItsRateLimit() throws Exception {
+        LoadSheddingFilter filter = filter(new TokenBucketRateLimiter(0.001, 2), new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5, 600));
+
+        assertEquals(200, send(filter, "adriBana").getStatus());
+        assertEquals(200, send(filter, "adriBana").getStatus());
+        MockHttpServletResponse rejected = send(filter, "adriBana");
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+        // Other principals have buckets of their own.
+        assertEquals(200, send(filter, "mareNowa").getStatus());
+    }
+
+    @Test
+    void testRejectsRequestsOverConcurrencyLimit() throws Exception {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5, 600);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        LoadSheddingFilter filter = filter(new TokenBucketRateLimiter(0, 0), concurrencyLimiter);
+        Thread slowRequest = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/task"), new MockHttpServletResponse(), (request, response) -> {
+                    entered.countDown();
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = send(filter, "adriBana");
+        proceed.countDown();
+        slowRequest.join();
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        assertEquals(1, concurrencyLimiter.getRejected());
+        assertEquals(200, send(filter, "adriBana").getStatus());
+    }
+
+    @Test
+    void testSkipsRequestsOutsideConfiguredPaths() throws Exception {
+        LoadSheddingFilter filter = filter(new TokenBucketRateLimiter(0.001, 1), new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5, 600));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/stream");
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesAndGrowsWhenItRecovers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5, 600);
+        saturate(limiter, 100, 1_000_000);
+        int recovered = limiter.getLimit();
+        assertTrue(recovered > 20, "limit should grow while latency is stable but was " + recovered);
+
+        limiter.tryAcquire();
+        limiter.release(1_000_000, true);
+        int dropped = limiter.getLimit();
+        assertTrue(dropped < recovered, "limit should shrink after a failed request but was " + dropped);
+
+        saturate(limiter, 3, 20_000_000);
+        int overloaded = limiter.getLimit();
+        assertTrue(overloaded < dropped, "limit should shrink when latency rises but was " + overloaded);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        for (int i = 0; i < samples; i++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int j = 0; j < admitted; j++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+
+    private static LoadSheddingFilter filter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return new LoadSheddingFilter(rateLimiter, concurrencyLimiter, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new String[]{"/task", "/category"}, new String[]{"/task/stream"});
+    }
+
+    private MockHttpServletResponse send(LoadSheddingFilter filter, String username) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/task"), response, chain);
+        return response;
+    }
+}
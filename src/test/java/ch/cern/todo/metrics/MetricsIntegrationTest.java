@@ -0,0 +1,55 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.searchEngine.SearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test that service, repository and search metrics are exposed on GET /actuator/prometheus.
+     */
+    @Test
+    @WithMockUser(username = "adriBana", roles = {"ADMIN"})
+    void testSearchIsMeasured() throws Exception {
+        mockMvc.perform(get("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new SearchCriteria("name", ":", "metrics"),
+                                new SearchCriteria("processedFrom", ">", "2020-01-01T00:00:00")))))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("todo_service_seconds_count{component=\"TaskService\",method=\"getAllTasks\",outcome=\"success\"}"));
+        assertTrue(scrape.contains("todo_repository_seconds_count{component=\"TaskRepository\",method=\"findAll\",outcome=\"success\"}"));
+        assertTrue(scrape.contains("todo_search_criteria_total{entity=\"task\",key=\"name\",operation=\":\"}"));
+        assertTrue(scrape.contains("todo_search_criteria_total{entity=\"task\",key=\"other\",operation=\">\"}"));
+        assertTrue(scrape.contains("todo_search_rows_count{entity=\"task\"}"));
+        assertTrue(scrape.contains("todo_cache_response_hit_ratio"));
+    }
+}
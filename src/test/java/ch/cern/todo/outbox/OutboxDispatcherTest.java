@@ -0,0 +1,141 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import ch.cern.todo.outbox.dataModels.OutboxStats;
+import ch.cern.todo.outbox.dataModels.TaskEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final List<OutboxEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        delivered.clear();
+    }
+
+    @Test
+    void testDrainKeepsOrderPerTask() {
+        List<OutboxEvent> batch = List.of(
+                event(1L, "task1", TaskEventType.CREATED),
+                event(2L, "task2", TaskEventType.CREATED),
+                event(3L, "task1", TaskEventType.UPDATED),
+                event(4L, "task2", TaskEventType.DELETED),
+                event(5L, "task1", TaskEventType.DELETED));
+        when(outboxRepository.findPending(any(), any(Pageable.class))).thenReturn(batch);
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository, List.of(delivered::add), 10, 2, 3, 1000);
+
+        assertEquals(5, dispatcher.drain());
+
+        assertEquals(List.of(1L, 3L, 5L), idsOf("task1"));
+        assertEquals(List.of(2L, 4L), idsOf("task2"));
+        verify(outboxRepository).deleteAllByIdInBatch(argThat(ids -> ((List<?>) ids).size() == 5));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testFailedEventBlocksLaterEventsOfSameTask() {
+        List<OutboxEvent> batch = List.of(
+                event(1L, "task1", TaskEventType.CREATED),
+                event(2L, "task2", TaskEventType.CREATED),
+                event(3L, "task1", TaskEventType.UPDATED));
+        when(outboxRepository.findPending(any(), any(Pageable.class))).thenReturn(batch);
+        OutboxSink failingForTask1 = event -> {
+            if (event.getTaskId().equals("task1")) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            delivered.add(event);
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository, List.of(failingForTask1), 10, 1, 3, 1000);
+
+        dispatcher.drain();
+
+        assertEquals(List.of(2L), delivered.stream().map(OutboxEvent::getId).toList());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+        assertEquals(1, batch.get(0).getAttempts());
+        assertTrue(batch.get(0).getNextAttemptAt().after(Timestamp.valueOf(LocalDateTime.now())));
+        assertEquals(0, batch.get(2).getAttempts());
+        verify(outboxRepository).saveAll(List.of(batch.get(0)));
+        OutboxStats stats = dispatcher.getStats();
+        assertEquals(1, stats.dispatched());
+        assertEquals(1, stats.failed());
+        assertEquals(1, stats.batches());
+        dispatcher.shutdown();
+    }
+
+    /**
+     * A task whose events keep failing fills whole batches, which must not keep the poll loop busy.
+     */
+    @Test
+    void testPermanentlyFailingTaskDoesNotSpinPoll() {
+        List<OutboxEvent> batch = List.of(
+                event(1L, "task1", TaskEventType.CREATED),
+                event(2L, "task1", TaskEventType.UPDATED),
+                event(3L, "task1", TaskEventType.DELETED));
+        when(outboxRepository.findPending(any(), any(Pageable.class))).thenReturn(batch);
+        OutboxSink failing = event -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository, List.of(failing), 3, 1, 3, 1000);
+
+        dispatcher.poll();
+
+        verify(outboxRepository, times(1)).findPending(any(), any(Pageable.class));
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxRepository).saveAll(List.of(batch.get(0)));
+        assertEquals(1, dispatcher.getFailedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testEventIsDeadLetteredAfterLastAttempt() {
+        OutboxEvent event = event(1L, "task1", TaskEventType.CREATED);
+        event.setAttempts(2);
+        when(outboxRepository.findPending(any(), any(Pageable.class))).thenReturn(List.of(event));
+        OutboxSink failing = failedEvent -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository, List.of(failing), 10, 1, 3, 1000);
+
+        assertEquals(0, dispatcher.drain());
+
+        assertEquals(3, event.getAttempts());
+        assertTrue(event.isDeadLetter());
+        verify(outboxRepository).saveAll(List.of(event));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testPollWithoutSinksDoesNothing() {
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository, Collections.emptyList(), 10, 1, 3, 1000);
+        dispatcher.poll();
+        verify(outboxRepository, never()).findPending(any(), any(Pageable.class));
+        dispatcher.shutdown();
+    }
+
+    private List<Long> idsOf(String taskId) {
+        return delivered.stream().filter(event -> event.getTaskId().equals(taskId)).map(OutboxEvent::getId).toList();
+    }
+
+    private static OutboxEvent event(Long id, String taskId, TaskEventType eventType) {
+        return new OutboxEvent(id, taskId, eventType, "{}", Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
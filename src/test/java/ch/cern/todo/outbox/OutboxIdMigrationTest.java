@@ -0,0 +1,66 @@
+package ch.cern.todo.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxIdMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE task_outbox_seq START WITH 1 INCREMENT BY 50");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void testIdentityTableIsMovedToSequenceOnce() {
+        jdbcTemplate.execute("CREATE TABLE task_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, task_id UUID)");
+        for (int i = 0; i < 120; i++) {
+            jdbcTemplate.update("INSERT INTO task_outbox (task_id) VALUES (?)", UUID.randomUUID());
+        }
+
+        new OutboxIdMigration(dataSource).migrate();
+
+        assertEquals("NO", jdbcTemplate.queryForObject("SELECT IS_IDENTITY FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'TASK_OUTBOX' AND COLUMN_NAME = 'ID'", String.class));
+        assertEquals(170, nextSequenceValue());
+
+        // Ids allocated by a running instance are never handed out again by a later start
+        assertEquals(170, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_outbox_seq", Long.class));
+        new OutboxIdMigration(dataSource).migrate();
+        assertEquals(220, nextSequenceValue());
+    }
+
+    @Test
+    void testSequenceTableIsLeftAlone() {
+        jdbcTemplate.execute("CREATE TABLE task_outbox (id BIGINT NOT NULL PRIMARY KEY, task_id UUID)");
+
+        new OutboxIdMigration(dataSource).migrate();
+        assertEquals(1, nextSequenceValue());
+
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_outbox_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO task_outbox (id, task_id) VALUES (?, ?)", id, UUID.randomUUID());
+        new OutboxIdMigration(dataSource).migrate();
+        assertEquals(51, nextSequenceValue());
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'TASK_OUTBOX_SEQ'", Long.class);
+    }
+}
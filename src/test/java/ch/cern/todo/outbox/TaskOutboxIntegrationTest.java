@@ -0,0 +1,160 @@
+package ch.cern.todo.outbox;
+
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.outbox.dataModels.OutboxEvent;
+import ch.cern.todo.outbox.dataModels.TaskEventType;
+import ch.cern.todo.outbox.sinks.InMemoryOutboxSink;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "todo.outbox.sink.memory.enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class TaskOutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private InMemoryOutboxSink inMemoryOutboxSink;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    /**
+     * Every version written through the task endpoints produces exactly one outbox event, delivered in order.
+     */
+    @Test
+    void testTaskChangesAreDeliveredInOrder() throws Exception {
+        String categoryName = "OutboxCategory-" + UUID.randomUUID();
+        mockMvc.perform(post("/category")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CategoryResource(null, categoryName, "Outbox", Collections.emptyList()))))
+                .andExpect(status().isOk());
+
+        TaskResource newTask = new TaskResource(null, "Outbox Task", "Description",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)), TaskStatus.CREATED, TaskPriorityStatus.HIGH,
+                "user1", null, "admin", null, categoryName);
+        String response = mockMvc.perform(post("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String taskId = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(put("/task/updateStatus/" + taskId).param("taskStatus", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.categoryName").value(categoryName));
+        mockMvc.perform(put("/task/deleteTask/" + taskId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/task/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+
+        outboxDispatcher.poll();
+
+        List<TaskEventType> types = inMemoryOutboxSink.getEvents().stream()
+                .filter(event -> event.getTaskId().equals(taskId))
+                .map(OutboxEvent::getEventType)
+                .toList();
+        assertEquals(List.of(TaskEventType.CREATED, TaskEventType.UPDATED, TaskEventType.DELETED), types);
+        assertTrue(outboxDispatcher.getStats().dispatched() >= 3);
+    }
+
+    /**
+     * Events of a task wait while an earlier event of that task waits for its retry.
+     */
+    @Test
+    void testRetryingEventHoldsBackLaterEventsOfItsTask() {
+        String taskId = UUID.randomUUID().toString();
+        OutboxEvent retrying = OutboxEvent.from(taskId, TaskEventType.CREATED, "{}");
+        retrying.setAttempts(1);
+        retrying.setNextAttemptAt(Timestamp.valueOf(LocalDateTime.now().plusHours(1)));
+        OutboxEvent later = OutboxEvent.from(taskId, TaskEventType.UPDATED, "{}");
+        List<OutboxEvent> saved = outboxRepository.saveAll(List.of(retrying, later));
+        try {
+            List<OutboxEvent> pending = outboxRepository.findPending(Timestamp.valueOf(LocalDateTime.now()), PageRequest.of(0, 1000));
+            assertTrue(pending.stream().noneMatch(event -> event.getTaskId().equals(taskId)));
+        } finally {
+            outboxRepository.deleteAll(saved);
+        }
+    }
+
+    /**
+     * Events of a task wait behind a dead-lettered event of that task until an operator retries or discards it.
+     */
+    @Test
+    void testDeadLetterHoldsBackLaterEventsUntilResolved() throws Exception {
+        String retriedTaskId = UUID.randomUUID().toString();
+        String discardedTaskId = UUID.randomUUID().toString();
+        List<OutboxEvent> saved = outboxRepository.saveAll(List.of(
+                deadLetter(retriedTaskId), OutboxEvent.from(retriedTaskId, TaskEventType.UPDATED, "{}"),
+                deadLetter(discardedTaskId), OutboxEvent.from(discardedTaskId, TaskEventType.UPDATED, "{}")));
+        try {
+            outboxDispatcher.poll();
+            assertEquals(List.of(), deliveredTypes(retriedTaskId));
+            assertEquals(List.of(), deliveredTypes(discardedTaskId));
+            mockMvc.perform(get("/outbox/deadLetters"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.taskId == '" + retriedTaskId + "')].eventType").value("CREATED"));
+
+            mockMvc.perform(put("/outbox/retryDeadLetter/" + saved.get(0).getId()))
+                    .andExpect(status().isOk());
+            mockMvc.perform(put("/outbox/discardDeadLetter/" + saved.get(2).getId()))
+                    .andExpect(status().isOk());
+            mockMvc.perform(put("/outbox/discardDeadLetter/" + saved.get(2).getId()))
+                    .andExpect(status().isBadRequest());
+            outboxDispatcher.poll();
+
+            assertEquals(List.of(TaskEventType.CREATED, TaskEventType.UPDATED), deliveredTypes(retriedTaskId));
+            assertEquals(List.of(TaskEventType.UPDATED), deliveredTypes(discardedTaskId));
+        } finally {
+            outboxRepository.deleteAllById(saved.stream()
+                    .map(OutboxEvent::getId)
+                    .filter(outboxRepository::existsById)
+                    .toList());
+        }
+    }
+
+    private static OutboxEvent deadLetter(String taskId) {
+        OutboxEvent event = OutboxEvent.from(taskId, TaskEventType.CREATED, "{}");
+        event.setAttempts(10);
+        event.setDeadLetter(true);
+        return event;
+    }
+
+    private List<TaskEventType> deliveredTypes(String taskId) {
+        return inMemoryOutboxSink.getEvents().stream()
+                .filter(event -> event.getTaskId().equals(taskId))
+                .map(OutboxEvent::getEventType)
+                .toList();
+    }
+}
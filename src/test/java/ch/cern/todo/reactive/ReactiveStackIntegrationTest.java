@@ -0,0 +1,155 @@
+package ch.cern.todo.reactive;
+
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.security.dataModels.TokenResponse;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveStackIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * Writes go through the blocking services and the new version is read back with R2DBC, with the same
+     * conditional headers as the servlet stack.
+     */
+    @Test
+    void testWrittenTaskIsReadWithR2dbc() {
+        String categoryName = "ReactiveCategory-" + UUID.randomUUID();
+        saveCategory(categoryName);
+        String taskId = saveTask(categoryName);
+
+        String eTag = webTestClient.get().uri("/task/{id}", taskId)
+                .headers(headers -> headers.setBasicAuth("mareNowa", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Reactive Task")
+                .jsonPath("$.status").isEqualTo("CREATED")
+                .jsonPath("$.priorityStatus").isEqualTo("HIGH")
+                .jsonPath("$.reportedByName").isEqualTo("Adrian Banachowicz")
+                .jsonPath("$.categoryName").isEqualTo(categoryName)
+                .returnResult().getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/task/{id}", taskId)
+                .headers(headers -> headers.setBasicAuth("mareNowa", "password"))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/category/{name}", categoryName)
+                .headers(headers -> headers.setBasicAuth("mareNowa", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo(taskId);
+    }
+
+    /**
+     * The export is streamed as newline delimited JSON and follows the current versions.
+     */
+    @Test
+    void testExportStreamsCurrentVersions() {
+        String categoryName = "ReactiveExport-" + UUID.randomUUID();
+        saveCategory(categoryName);
+        String firstId = saveTask(categoryName);
+        String secondId = saveTask(categoryName);
+        webTestClient.put().uri("/task/deleteTask/{id}", secondId)
+                .headers(headers -> headers.setBasicAuth("adriBana", "password"))
+                .exchange()
+                .expectStatus().isOk();
+
+        List<TaskResource> exported = webTestClient.get().uri(uri -> uri.path("/task/export")
+                        .queryParam("categoryName", categoryName).build())
+                .headers(headers -> headers.setBasicAuth("mareNowa", "password"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResource.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(exported);
+        assertEquals(List.of(firstId), exported.stream().map(TaskResource::id).toList());
+    }
+
+    /**
+     * Test that the API requires authentication and accepts tokens issued for Basic credentials.
+     */
+    @Test
+    void testSecurity() {
+        webTestClient.get().uri("/task/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        TokenResponse tokenResponse = webTestClient.post().uri("/auth/token")
+                .headers(headers -> headers.setBasicAuth("mareNowa", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(tokenResponse);
+        String token = tokenResponse.accessToken();
+
+        webTestClient.get().uri(uri -> uri.path("/task").queryParam("ids", UUID.randomUUID()).build())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+
+        webTestClient.put().uri("/task/deleteTask/{id}", UUID.randomUUID())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private void saveCategory(String categoryName) {
+        webTestClient.post().uri("/category")
+                .headers(headers -> headers.setBasicAuth("adriBana", "password"))
+                .bodyValue(new CategoryResource(null, categoryName, "Reactive", Collections.emptyList()))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private String saveTask(String categoryName) {
+        TaskResource newTask = new TaskResource(null, "Reactive Task", "Description",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)), TaskStatus.CREATED, TaskPriorityStatus.HIGH,
+                "mareNowa", null, "adriBana", null, categoryName);
+        TaskResource saved = webTestClient.post().uri("/task")
+                .headers(headers -> headers.setBasicAuth("adriBana", "password"))
+                .bodyValue(newTask)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskResource.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(saved);
+        return saved.id();
+    }
+}
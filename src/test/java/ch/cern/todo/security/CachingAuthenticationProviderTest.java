@@ -0,0 +1,100 @@
+package ch.cern.todo.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private AuthenticationResultCache cache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new AuthenticationResultCache(60_000, 2);
+        provider = new CachingAuthenticationProvider(delegate, cache);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication token = invocation.getArgument(0);
+            return UsernamePasswordAuthenticationToken.authenticated(token.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_USER"));
+        });
+    }
+
+    @Test
+    void testRepeatedCredentialsAreVerifiedOnce() {
+        Authentication first = provider.authenticate(token("mareNowa", "password"));
+        Authentication second = provider.authenticate(token("mareNowa", "password"));
+
+        assertSame(first, second);
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testOtherPasswordIsVerifiedAgain() {
+        provider.authenticate(token("mareNowa", "password"));
+        doThrow(new BadCredentialsException("Bad credentials")).when(delegate).authenticate(any());
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("mareNowa", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("mareNowa", "wrong")));
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void testUserChangeInvalidatesCachedAuthentications() {
+        InvalidatingUserDetailsManager userDetailsManager = new InvalidatingUserDetailsManager(
+                new InMemoryUserDetailsManager(User.withUsername("mareNowa").password("{noop}password").roles("USER").build()),
+                cache);
+        provider.authenticate(token("mareNowa", "password"));
+
+        userDetailsManager.updateUser(User.withUsername("mareNowa").password("{noop}changed").roles("USER").build());
+        provider.authenticate(token("mareNowa", "password"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testCacheIsBoundedAndExpires() {
+        provider.authenticate(token("user1", "password"));
+        provider.authenticate(token("user2", "password"));
+        provider.authenticate(token("user3", "password"));
+        assertEquals(2, cache.getSize());
+
+        AuthenticationResultCache expiringCache = new AuthenticationResultCache(0, 2);
+        CachingAuthenticationProvider uncachedProvider = new CachingAuthenticationProvider(delegate, expiringCache);
+        uncachedProvider.authenticate(token("user1", "password"));
+        uncachedProvider.authenticate(token("user1", "password"));
+        assertEquals(0, expiringCache.getSize());
+        verify(delegate, times(5)).authenticate(any());
+    }
+
+    @Test
+    void testKeyDoesNotContainCredentials() {
+        String key = cache.key("mareNowa", "password");
+
+        assertEquals(64, key.length());
+        assertFalse(key.contains("password"));
+        assertNotEquals(key, cache.key("mareNowap", "assword"));
+        assertNotEquals(key, new AuthenticationResultCache(60_000, 2).key("mareNowa", "password"));
+    }
+
+    private static Authentication token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
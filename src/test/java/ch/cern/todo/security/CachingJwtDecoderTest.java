@@ -0,0 +1,51 @@
+package ch.cern.todo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    @Test
+    void testTokenExpiredWithinClockSkewIsServedFromCache() {
+        AtomicInteger decodes = new AtomicInteger();
+        Jwt jwt = jwt(Instant.now().minusSeconds(30));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+            decodes.incrementAndGet();
+            return jwt;
+        }, 10, CLOCK_SKEW);
+
+        assertSame(jwt, decoder.decode("token"));
+        assertSame(jwt, decoder.decode("token"));
+        assertEquals(1, decodes.get());
+    }
+
+    @Test
+    void testTokenExpiredBeyondClockSkewIsDecodedAgain() {
+        AtomicInteger decodes = new AtomicInteger();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+            decodes.incrementAndGet();
+            return jwt(Instant.now().minusSeconds(90));
+        }, 10, CLOCK_SKEW);
+
+        decoder.decode("token");
+        decoder.decode("token");
+        assertEquals(2, decodes.get());
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("mareNowa")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package ch.cern.todo.stream;
+
+import ch.cern.todo.stream.dataModels.ChangeEntityType;
+import ch.cern.todo.stream.dataModels.ChangeEvent;
+import ch.cern.todo.stream.dataModels.ChangeStreamFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeStreamServiceTest {
+
+    private ChangeStreamService changeStreamService;
+    private RecordingEmitter emitter;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        changeStreamService = new ChangeStreamService(60_000L, 2) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitter;
+            }
+        };
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitter.release.countDown();
+        changeStreamService.shutdown();
+        assertEquals(0, changeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribe() {
+        SseEmitter subscribed = changeStreamService.subscribe(new ChangeStreamFilter(null, null));
+        assertSame(emitter, subscribed);
+        assertEquals(1, changeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void testCommittedChangeIsSentAfterCommit() throws InterruptedException {
+        emitter.release.countDown();
+        changeStreamService.subscribe(new ChangeStreamFilter(null, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeStreamService.publish(taskEvent("task1", "Work", "user1"));
+            assertTrue(emitter.sent.isEmpty());
+        });
+
+        assertEquals("task1", emitter.sent.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRolledBackChangeIsNotSent() throws InterruptedException {
+        emitter.release.countDown();
+        changeStreamService.subscribe(new ChangeStreamFilter(null, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeStreamService.publish(taskEvent("task1", "Work", "user1"));
+            status.setRollbackOnly();
+        });
+        changeStreamService.publish(taskEvent("task2", "Work", "user1"));
+
+        // Events are sent in order by a single thread, so the first one sent is the committed one
+        assertEquals("task2", emitter.sent.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnected() throws InterruptedException {
+        changeStreamService.subscribe(new ChangeStreamFilter(null, null));
+
+        changeStreamService.publish(taskEvent("task1", "Work", "user1"));
+        // The sender thread took task1 and is blocked writing it, so the queue holds the next two events
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        changeStreamService.publish(taskEvent("task2", "Work", "user1"));
+        changeStreamService.publish(taskEvent("task3", "Work", "user1"));
+        assertEquals(1, changeStreamService.getSubscriberCount());
+        assertFalse(emitter.completed);
+
+        changeStreamService.publish(taskEvent("task4", "Work", "user1"));
+        assertEquals(0, changeStreamService.getSubscriberCount());
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void testSlowReactiveSubscriberIsCompleted() {
+        List<ChangeEvent> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        BaseSubscriber<ChangeEvent> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(ChangeEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                completed.set(true);
+            }
+        };
+        changeStreamService.stream(new ChangeStreamFilter(null, null)).subscribe(subscriber);
+        assertEquals(1, changeStreamService.getSubscriberCount());
+
+        changeStreamService.publish(taskEvent("task1", "Work", "user1"));
+        changeStreamService.publish(taskEvent("task2", "Work", "user1"));
+        assertEquals(1, changeStreamService.getSubscriberCount());
+        changeStreamService.publish(taskEvent("task3", "Work", "user1"));
+        assertEquals(0, changeStreamService.getSubscriberCount());
+
+        subscriber.request(Long.MAX_VALUE);
+        assertEquals(List.of("task1", "task2"), received.stream().map(ChangeEvent::id).toList());
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testFilterByCategory() {
+        ChangeStreamFilter filter = new ChangeStreamFilter("Work", null);
+        assertTrue(filter.accepts(taskEvent("task1", "Work", "user1")));
+        assertFalse(filter.accepts(taskEvent("task2", "Home", "user1")));
+        assertTrue(filter.accepts(categoryEvent("Work")));
+    }
+
+    @Test
+    void testFilterByAssigneeIgnoresCategories() {
+        ChangeStreamFilter filter = new ChangeStreamFilter(null, "user1");
+        assertTrue(filter.accepts(taskEvent("task1", "Work", "user1")));
+        assertFalse(filter.accepts(taskEvent("task2", "Work", "user2")));
+        assertFalse(filter.accepts(categoryEvent("Work")));
+    }
+
+    private static ChangeEvent taskEvent(String id, String categoryName, String assignedTo) {
+        return new ChangeEvent(ChangeEntityType.TASK, id, "Task " + id, "CREATED", categoryName, assignedTo,
+                Timestamp.valueOf("2030-01-01 00:00:00"));
+    }
+
+    private static ChangeEvent categoryEvent(String name) {
+        return new ChangeEvent(ChangeEntityType.CATEGORY, "cat1", name, "ACTIVE", name, null,
+                Timestamp.valueOf("2030-01-01 00:00:00"));
+    }
+
+    /**
+     * Emitter that records the ids of the events sent to it and blocks the sender until released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while sending", ex);
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof ChangeEvent event) {
+                    sent.add(event.id());
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
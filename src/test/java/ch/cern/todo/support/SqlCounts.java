@@ -0,0 +1,10 @@
+package ch.cern.todo.support;
+
+/**
+ * SQL executed while a block of test code ran on the current thread.
+ *
+ * @param statements statements sent to the database; a JDBC batch counts once
+ * @param rows       rows read from all result sets
+ */
+public record SqlCounts(long statements, long rows) {
+}
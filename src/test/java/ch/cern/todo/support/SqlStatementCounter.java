@@ -0,0 +1,139 @@
+package ch.cern.todo.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Counts the statements and fetched rows of the JDBC connections handed out through {@link SqlCountingConfig}.
+ * <p>
+ * Only SQL issued by the thread running {@link #measure} is counted, so background work such as the outbox
+ * dispatcher cannot make budgets flaky. MockMvc serves synchronous requests on the calling thread.
+ * </p>
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private SqlStatementCounter() {
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the action and returns the SQL it caused on the current thread.
+     */
+    public static SqlCounts measure(SqlAction action) throws Exception {
+        return record(action).counts();
+    }
+
+    /**
+     * Runs the action and fails when it executes more statements or reads more rows than allowed, listing the
+     * statements that were executed.
+     */
+    public static SqlCounts assertWithinBudget(String endpoint, long maxStatements, long maxRows, SqlAction action)
+            throws Exception {
+        Recording recording = record(action);
+        if (recording.sql.size() > maxStatements || recording.rows > maxRows) {
+            throw new AssertionError(String.format("%s exceeded its SQL budget: %d statements (budget %d), "
+                            + "%d rows (budget %d). Statements:%n  %s", endpoint, recording.sql.size(), maxStatements,
+                    recording.rows, maxRows, String.join(System.lineSeparator() + "  ", recording.sql)));
+        }
+        return recording.counts();
+    }
+
+    private static Recording record(SqlAction action) throws Exception {
+        Recording previous = CURRENT.get();
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+        try {
+            action.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+        return recording;
+    }
+
+    static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, arguments, result) -> {
+            String sql = arguments != null && arguments.length > 0 && arguments[0] instanceof String text ? text : null;
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(sql));
+            } else if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(sql));
+            } else if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(null));
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, arguments) -> {
+            Object result;
+            try {
+                result = method.invoke(target, arguments);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return result;
+            }
+            return handler.handle(method, arguments, result);
+        };
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object[] arguments, Object result);
+    }
+
+    private record StatementHandler(String preparedSql) implements ResultHandler {
+
+        @Override
+        public Object handle(Method method, Object[] arguments, Object result) {
+            Recording recording = CURRENT.get();
+            if (recording != null && EXECUTE_METHODS.contains(method.getName())) {
+                String sql = preparedSql != null ? preparedSql
+                        : arguments != null && arguments.length > 0 ? String.valueOf(arguments[0]) : null;
+                recording.sql.add(method.getName().contains("Batch") ? "[batch] " + sql : sql);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, resultSet, (resultSetMethod, resultSetArguments, next) -> {
+                    Recording current = CURRENT.get();
+                    if (current != null && resultSetMethod.getName().equals("next") && Boolean.TRUE.equals(next)) {
+                        current.rows++;
+                    }
+                    return next;
+                });
+            }
+            return result;
+        }
+    }
+
+    private static final class Recording {
+        private final List<String> sql = new ArrayList<>();
+        private long rows;
+
+        private SqlCounts counts() {
+            return new SqlCounts(sql.size(), rows);
+        }
+    }
+}
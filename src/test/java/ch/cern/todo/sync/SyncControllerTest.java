@@ -0,0 +1,195 @@
+package ch.cern.todo.sync;
+
+import ch.cern.todo.category.CategoryRepository;
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryResource;
+import ch.cern.todo.category.dataModels.CategoryStatus;
+import ch.cern.todo.sync.dataModels.SyncChange;
+import ch.cern.todo.sync.dataModels.SyncChangeType;
+import ch.cern.todo.sync.dataModels.SyncCursor;
+import ch.cern.todo.sync.dataModels.SyncPage;
+import ch.cern.todo.tasks.TaskRepository;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "todo.sync.safety-lag-ms=" + SyncControllerIntegrationTest.SAFETY_LAG_MS)
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class SyncControllerIntegrationTest {
+
+    static final long SAFETY_LAG_MS = 1000;
+    private static final Timestamp INFINITE_TIME = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 12, 0, 0));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test GET /sync endpoint: a change made after a full sync is the only change returned for the new cursor.
+     */
+    @Test
+    void testChangesSinceCursor() throws Exception {
+        // Changes of earlier tests only become visible once they are older than the safety lag
+        Thread.sleep(SAFETY_LAG_MS);
+        String cursor = null;
+        JsonNode page;
+        do {
+            page = sync(cursor);
+            cursor = page.get("nextCursor").asText();
+        } while (page.get("hasMore").asBoolean());
+
+        String categoryName = "SyncCategory-" + UUID.randomUUID();
+        mockMvc.perform(post("/category")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CategoryResource(null, categoryName, "Created after sync", Collections.emptyList()))))
+                .andExpect(status().isOk());
+
+        assertEquals(0, sync(cursor).get("changes").size());
+        Thread.sleep(SAFETY_LAG_MS);
+        JsonNode delta = sync(cursor);
+        assertEquals(1, delta.get("changes").size());
+        JsonNode change = delta.get("changes").get(0);
+        assertEquals("CATEGORY", change.get("entityType").asText());
+        assertEquals("CREATED", change.get("changeType").asText());
+        assertEquals(categoryName, change.get("category").get("name").asText());
+
+        JsonNode empty = sync(delta.get("nextCursor").asText());
+        assertEquals(0, empty.get("changes").size());
+    }
+
+    /**
+     * A version stamped before another one but committed after it is still returned after the cursor has
+     * moved past the version committed first.
+     */
+    @Test
+    void testVersionCommittedOutOfStampOrderIsNotSkipped() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Category category = categoryRepository.save(new Category(UUID.randomUUID().toString(),
+                "SyncCategory-" + UUID.randomUUID(), "Interleaved", CategoryStatus.ACTIVE, Collections.emptyList(),
+                Timestamp.valueOf(LocalDateTime.now()), INFINITE_TIME));
+        SyncCursor cursor = new SyncCursor(Timestamp.valueOf(LocalDateTime.now()), "");
+        CountDownLatch stamped = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Task task = taskRepository.save(newTask(category));
+            stamped.countDown();
+            await(commit);
+            return task.getId();
+        }));
+        assertTrue(stamped.await(5, TimeUnit.SECONDS));
+        String second = transactionTemplate.execute(status -> taskRepository.save(newTask(category)).getId());
+
+        // The second version is committed, but the first one could still be committed with an older stamp
+        SyncPage early = syncService.getChangesSince(cursor.encode(), 1000);
+        assertFalse(taskIds(early).contains(second));
+
+        commit.countDown();
+        String firstId = first.get(5, TimeUnit.SECONDS);
+        Thread.sleep(SAFETY_LAG_MS);
+
+        SyncPage late = syncService.getChangesSince(early.nextCursor(), 1000);
+        List<String> ids = taskIds(late).stream().filter(id -> id.equals(firstId) || id.equals(second)).toList();
+        assertEquals(List.of(firstId, second), ids);
+    }
+
+    /**
+     * Versions sharing the timestamp of the cursor are ordered by id, so an entity created at exactly that
+     * timestamp after the cursor position did not exist before it.
+     */
+    @Test
+    void testEntityCreatedAtCursorTimestampIsCreated() {
+        Category category = categoryRepository.save(new Category(UUID.randomUUID().toString(),
+                "SyncCategory-" + UUID.randomUUID(), "Same stamp", CategoryStatus.ACTIVE, Collections.emptyList(),
+                Timestamp.valueOf(LocalDateTime.now()), INFINITE_TIME));
+        Timestamp stamp = Timestamp.valueOf(LocalDateTime.now().minusSeconds(10).withNano(0));
+        // Leading digits below 8 order the same as strings and as UUIDs
+        String suffix = UUID.randomUUID().toString().substring(1);
+        List<String> ids = List.of("1" + suffix, "2" + suffix);
+        for (String id : ids) {
+            taskRepository.save(new Task(id, "Sync Task", "Same stamp", null, TaskStatus.CREATED,
+                    TaskPriorityStatus.LOW, "user1", "admin", category, stamp, INFINITE_TIME));
+        }
+
+        SyncPage page = syncService.getChangesSince(new SyncCursor(stamp, ids.get(0)).encode(), 1000);
+
+        SyncChange change = page.changes().stream().filter(c -> c.id().equals(ids.get(1))).findFirst().orElseThrow();
+        assertEquals(SyncChangeType.CREATED, change.changeType());
+        assertTrue(page.changes().stream().noneMatch(c -> c.id().equals(ids.get(0))));
+    }
+
+    @Test
+    void testInvalidCursor() throws Exception {
+        mockMvc.perform(get("/sync").param("since", "???"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode sync(String cursor) throws Exception {
+        var request = get("/sync").param("size", "1000");
+        if (cursor != null) {
+            request.param("since", cursor);
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static Task newTask(Category category) {
+        return new Task(UUID.randomUUID().toString(), "Sync Task", "Interleaved", null, TaskStatus.CREATED,
+                TaskPriorityStatus.LOW, "user1", "admin", category, Timestamp.valueOf(LocalDateTime.now()), INFINITE_TIME);
+    }
+
+    private static List<String> taskIds(SyncPage page) {
+        return page.changes().stream().map(SyncChange::id).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
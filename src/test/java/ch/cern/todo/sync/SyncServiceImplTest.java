@@ -0,0 +1,133 @@
+package ch.cern.todo.sync;
+
+import ch.cern.todo.category.CategoryRepository;
+import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryStatus;
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.stream.dataModels.ChangeEntityType;
+import ch.cern.todo.sync.dataModels.SyncChange;
+import ch.cern.todo.sync.dataModels.SyncChangeType;
+import ch.cern.todo.sync.dataModels.SyncCursor;
+import ch.cern.todo.sync.dataModels.SyncPage;
+import ch.cern.todo.tasks.TaskRepository;
+import ch.cern.todo.tasks.TaskService;
+import ch.cern.todo.tasks.dataModels.Task;
+import ch.cern.todo.tasks.dataModels.TaskResource;
+import ch.cern.todo.tasks.dataModels.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SyncServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    private SyncServiceImpl syncServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        syncServiceImpl = new SyncServiceImpl(taskRepository, categoryRepository, taskService, 5_000L);
+    }
+
+    @Test
+    void testFullSyncReturnsChangesInVersionOrder() {
+        Task task = task("task1", TaskStatus.CREATED, "2030-01-01 10:00:00");
+        Category category = category("cat1", CategoryStatus.ACTIVE, "2030-01-01 09:00:00");
+        when(taskRepository.findCurrentVersionsChangedSince(any(), eq(""), any(), any(Pageable.class))).thenReturn(List.of(task));
+        when(categoryRepository.findCurrentVersionsChangedSince(any(), eq(""), any(), any(Pageable.class))).thenReturn(List.of(category));
+        TaskResource taskResource = mock(TaskResource.class);
+        when(taskService.mapToResourceWithFullNames(task)).thenReturn(taskResource);
+
+        SyncPage result = syncServiceImpl.getChangesSince(null, 10);
+
+        assertFalse(result.hasMore());
+        assertEquals(2, result.changes().size());
+        SyncChange first = result.changes().get(0);
+        assertEquals(ChangeEntityType.CATEGORY, first.entityType());
+        assertEquals(SyncChangeType.CREATED, first.changeType());
+        assertNull(first.category().tasks());
+        SyncChange second = result.changes().get(1);
+        assertEquals(ChangeEntityType.TASK, second.entityType());
+        assertEquals(taskResource, second.task());
+        assertEquals(second.toCursor(), SyncCursor.decode(result.nextCursor()));
+        // Nothing existed before the start of time, so no lookup of older versions is needed.
+        verify(taskRepository, never()).findIdsWithVersionBefore(anyCollection(), any(), any());
+    }
+
+    @Test
+    void testIncrementalSyncDetectsUpdatesAndDeletions() {
+        SyncCursor cursor = new SyncCursor(Timestamp.valueOf("2030-01-01 08:00:00"), "task0");
+        Task updated = task("task1", TaskStatus.IN_PROGRESS, "2030-01-01 10:00:00");
+        Task created = task("task2", TaskStatus.CREATED, "2030-01-01 11:00:00");
+        Task deleted = task("task3", TaskStatus.DELETED, "2030-01-01 12:00:00");
+        when(taskRepository.findCurrentVersionsChangedSince(eq(cursor.processedFrom()), eq("task0"), any(), any(Pageable.class)))
+                .thenReturn(List.of(updated, created, deleted));
+        when(categoryRepository.findCurrentVersionsChangedSince(any(), any(), any(), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(taskRepository.findIdsWithVersionBefore(List.of("task1", "task2", "task3"), cursor.processedFrom(), "task0"))
+                .thenReturn(List.of("task1", "task3"));
+
+        SyncPage result = syncServiceImpl.getChangesSince(cursor.encode(), 10);
+
+        List<SyncChangeType> types = result.changes().stream().map(SyncChange::changeType).toList();
+        assertEquals(List.of(SyncChangeType.UPDATED, SyncChangeType.CREATED, SyncChangeType.DELETED), types);
+        assertNull(result.changes().get(2).task());
+        verify(taskService, never()).mapToResourceWithFullNames(deleted);
+    }
+
+    @Test
+    void testPageIsCutAfterRequestedSize() {
+        Task first = task("task1", TaskStatus.CREATED, "2030-01-01 10:00:00");
+        Task second = task("task2", TaskStatus.CREATED, "2030-01-01 11:00:00");
+        when(taskRepository.findCurrentVersionsChangedSince(any(), any(), any(), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(categoryRepository.findCurrentVersionsChangedSince(any(), any(), any(), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        SyncPage result = syncServiceImpl.getChangesSince(null, 1);
+
+        assertTrue(result.hasMore());
+        assertEquals(1, result.changes().size());
+        assertEquals(new SyncCursor(first.getProcessedFrom(), "task1"), SyncCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void testInvalidCursorAndSize() {
+        assertThrows(ValidationException.class, () -> syncServiceImpl.getChangesSince("not-a-cursor", 10));
+        assertThrows(ValidationException.class, () -> syncServiceImpl.getChangesSince(null, 0));
+    }
+
+    private static Task task(String id, TaskStatus status, String processedFrom) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setProcessedFrom(Timestamp.valueOf(processedFrom));
+        task.setProcessedTo(Timestamp.valueOf("9999-12-31 12:00:00"));
+        return task;
+    }
+
+    private static Category category(String id, CategoryStatus status, String processedFrom) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("Name of " + id);
+        category.setStatus(status);
+        category.setProcessedFrom(Timestamp.valueOf(processedFrom));
+        category.setProcessedTo(Timestamp.valueOf("9999-12-31 12:00:00"));
+        return category;
+    }
+}
@@ -4,7 +4,10 @@ import ch.cern.todo.searchEngine.SearchCriteria;
 import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
 import ch.cern.todo.tasks.dataModels.TaskResource;
 import ch.cern.todo.tasks.dataModels.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -12,11 +15,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -327,4 +340,453 @@ class TaskControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    /**
+     * Helper method: Create a task with a future deadline via POST /task and return its id.
+     */
+    private String createTask(String name, String categoryName) throws Exception {
+        TaskResource newTask = new TaskResource(null, name, "Bulk description",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)), TaskStatus.CREATED, TaskPriorityStatus.LOW,
+                "user1", null, "user2", null, categoryName);
+        String createResponse = mockMvc.perform(post("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(createResponse).get("id").asText();
+    }
+
+    /**
+     * Test PUT /task/bulk/status endpoint.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testUpdateStatuses() throws Exception {
+        String categoryName = "BulkStatus-" + UUID.randomUUID();
+        createCategory(categoryName, "Bulk status category");
+        String firstId = createTask("Bulk Task 1", categoryName);
+        String secondId = createTask("Bulk Task 2", categoryName);
+
+        mockMvc.perform(put("/task/bulk/status")
+                        .param("taskStatus", "COMPLETED")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(secondId, firstId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(secondId))
+                .andExpect(jsonPath("$[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$[1].categoryName").value(categoryName));
+
+        mockMvc.perform(get("/task/" + firstId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        mockMvc.perform(put("/task/bulk/status")
+                        .param("taskStatus", "DELETED")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(firstId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/task/" + firstId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * Test PUT /task/bulk/status endpoint with an unknown task id.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testUpdateStatuses_MissingTask() throws Exception {
+        mockMvc.perform(put("/task/bulk/status")
+                        .param("taskStatus", "COMPLETED")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(UUID.randomUUID().toString()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test PUT /task/bulk/category and PUT /task/bulk/moveCategory endpoints.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testBulkCategoryChanges() throws Exception {
+        String sourceName = "BulkSource-" + UUID.randomUUID();
+        String targetName = "BulkTarget-" + UUID.randomUUID();
+        createCategory(sourceName, "Bulk source category");
+        createCategory(targetName, "Bulk target category");
+        String firstId = createTask("Bulk Task 1", targetName);
+        String secondId = createTask("Bulk Task 2", targetName);
+
+        mockMvc.perform(put("/task/bulk/category")
+                        .param("categoryName", sourceName)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(firstId, secondId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value(sourceName))
+                .andExpect(jsonPath("$[1].categoryName").value(sourceName));
+
+        mockMvc.perform(put("/task/bulk/moveCategory")
+                        .param("fromCategoryName", sourceName)
+                        .param("toCategoryName", targetName))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        mockMvc.perform(get("/task/" + secondId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryName").value(targetName));
+    }
+
+    /**
+     * Test GET /task?ids= endpoint.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetTasks() throws Exception {
+        String categoryName = "MultiGet-" + UUID.randomUUID();
+        createCategory(categoryName, "Multi get category");
+        String firstId = createTask("Multi Task 1", categoryName);
+        String secondId = createTask("Multi Task 2", categoryName);
+
+        mockMvc.perform(get("/task")
+                        .param("ids", secondId, UUID.randomUUID().toString(), firstId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(secondId))
+                .andExpect(jsonPath("$[1].id").value(firstId))
+                .andExpect(jsonPath("$[1].categoryName").value(categoryName));
+    }
+
+    /**
+     * Test conditional GET /task/{id} and GET /task requests.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testConditionalGetTask() throws Exception {
+        String categoryName = "Conditional-" + UUID.randomUUID();
+        createCategory(categoryName, "Conditional category");
+        String taskId = createTask("Conditional Task", categoryName);
+
+        String eTag = mockMvc.perform(get("/task/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/task/" + taskId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/task/updateStatus/" + taskId).param("taskStatus", "IN_PROGRESS"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/task/" + taskId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+        mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        String listETag = mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", "\"none\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", listETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/task").param("size", "5").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", listETag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/task/deleteTask/" + taskId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", listETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    /**
+     * Test that a task listing is not reported as unmodified by date after one of its tasks was deleted.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testConditionalGetTasksAfterDeleteByDate() throws Exception {
+        String categoryName = "Dated-" + UUID.randomUUID();
+        createCategory(categoryName, "Dated category");
+        createTask("Kept Task", categoryName);
+        String deletedTaskId = createTask("Deleted Task", categoryName);
+
+        mockMvc.perform(put("/task/deleteTask/" + deletedTaskId))
+                .andExpect(status().isOk());
+
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+        mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC))))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    /**
+     * Test that renaming the category of a task invalidates the validators of the task and of task listings.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testConditionalGetTaskAfterCategoryRename() throws Exception {
+        String categoryName = "Renamed-" + UUID.randomUUID();
+        createCategory(categoryName, "Category to rename");
+        String taskId = createTask("Renamed Task", categoryName);
+        String categoryId = readTree(mockMvc.perform(get("/category/" + categoryName))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        String eTag = mockMvc.perform(get("/task/" + taskId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("id", "=", taskId)));
+        String listETag = mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", "\"none\""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String newName = "Renamed-" + UUID.randomUUID();
+        mockMvc.perform(put("/category/updateDetails")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ch.cern.todo.category.dataModels.CategoryResource(
+                                categoryId, newName, "Renamed category", Collections.emptyList()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/task/" + taskId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryName").value(newName));
+        mockMvc.perform(get("/task").contentType(MediaType.APPLICATION_JSON).content(criteriaJson)
+                        .header("If-None-Match", listETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].categoryName").value(newName));
+    }
+
+    /**
+     * Test GET /task?fields= endpoint.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetAllTasksWithFields() throws Exception {
+        String categoryName = "Sparse-" + UUID.randomUUID();
+        createCategory(categoryName, "Sparse category");
+        String taskId = createTask("Sparse Task", categoryName);
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+
+        mockMvc.perform(get("/task")
+                        .param("fields", "id,name,status,deadLine,categoryName")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(taskId))
+                .andExpect(jsonPath("$.content[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.content[0].categoryName").value(categoryName))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].assignedToName").doesNotExist());
+
+        mockMvc.perform(get("/task")
+                        .param("fields", "id,unknown")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test that a sparse fieldset shrinks a fixed page of GET /task compared with the full resources.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testSparsePageIsSmallerThanFullPage() throws Exception {
+        String categoryName = "SparseSize-" + UUID.randomUUID();
+        createCategory(categoryName, "Sparse size category");
+        for (int i = 0; i < 20; i++) {
+            createTask("Sparse Size Task " + i, categoryName);
+        }
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+
+        int fullBytes = mockMvc.perform(get("/task").param("size", "20")
+                        .contentType(MediaType.APPLICATION_JSON).content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int sparseBytes = mockMvc.perform(get("/task").param("size", "20").param("fields", "id,name,status,deadLine")
+                        .contentType(MediaType.APPLICATION_JSON).content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertTrue(sparseBytes * 2 < fullBytes, "sparse page of " + sparseBytes + " bytes, full page of " + fullBytes + " bytes");
+    }
+
+    /**
+     * Test content negotiation of binary encodings on GET /task/{id}.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetTaskAsBinaryFormats() throws Exception {
+        String categoryName = "Binary-" + UUID.randomUUID();
+        createCategory(categoryName, "Binary category");
+        String taskId = createTask("Binary Task", categoryName);
+
+        byte[] json = mockMvc.perform(get("/task/" + taskId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/task/" + taskId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/task/" + taskId).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode fromJson = objectMapper.readTree(json);
+        assertEquals(fromJson, new CBORMapper().readTree(cbor));
+        assertEquals(fromJson, new SmileMapper().readTree(smile));
+        assertTrue(cbor.length < json.length);
+    }
+
+    /**
+     * Test GET /task/export endpoint with length-prefixed CBOR frames.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testExportTasks() throws Exception {
+        String categoryName = "Export-" + UUID.randomUUID();
+        createCategory(categoryName, "Export category");
+        String firstId = createTask("Export Task 1", categoryName);
+        String secondId = createTask("Export Task 2", categoryName);
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+
+        MvcResult asyncResult = mockMvc.perform(get("/task/export")
+                        .accept("application/vnd.todo.length-prefixed+cbor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] export = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CBORMapper cborMapper = new CBORMapper();
+        List<String> exportedIds = new ArrayList<>();
+        DataInputStream frames = new DataInputStream(new ByteArrayInputStream(export));
+        while (frames.available() > 0) {
+            byte[] frame = new byte[frames.readInt()];
+            frames.readFully(frame);
+            exportedIds.add(cborMapper.readTree(frame).get("id").asText());
+        }
+        assertEquals(List.of(firstId, secondId).stream().sorted().toList(), exportedIds);
+    }
+
+    /**
+     * Test that repeated GET /task/{id} requests are answered from the serialised response cache.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testGetTaskIsServedFromResponseCache() throws Exception {
+        String categoryName = "Cached-" + UUID.randomUUID();
+        createCategory(categoryName, "Cached category");
+        String taskId = createTask("Cached Task", categoryName);
+
+        mockMvc.perform(get("/task/" + taskId)).andExpect(status().isOk());
+        long hits = objectMapper.readTree(mockMvc.perform(get("/cache/stats"))
+                .andReturn().getResponse().getContentAsString()).get("hits").asLong();
+
+        mockMvc.perform(get("/task/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("Cached Task"));
+        mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(hits + 1));
+
+        mockMvc.perform(put("/task/updateStatus/" + taskId).param("taskStatus", "BLOCKED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/task/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("BLOCKED"));
+    }
+
+    /**
+     * Test GET /task/export endpoint with NDJSON and CSV encodings.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testExportTasksAsNdjsonAndCsv() throws Exception {
+        String categoryName = "Export-" + UUID.randomUUID();
+        createCategory(categoryName, "Export category");
+        String firstId = createTask("Export, Task 1", categoryName);
+        String secondId = createTask("Export Task 2", categoryName);
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+        List<String> sortedIds = List.of(firstId, secondId).stream().sorted().toList();
+
+        MvcResult ndjsonResult = mockMvc.perform(get("/task/export")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(ndjsonResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(sortedIds, lines.stream().map(line -> readTree(line).get("id").asText()).toList());
+        assertEquals(categoryName, readTree(lines.get(0)).get("categoryName").asText());
+
+        MvcResult csvResult = mockMvc.perform(get("/task/export")
+                        .param("fields", "id,name")
+                        .accept("text/csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(csvResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> csvLines = csv.lines().toList();
+        assertEquals("id,name", csvLines.get(0));
+        assertEquals(3, csvLines.size());
+        assertTrue(csvLines.contains(firstId + ",\"Export, Task 1\""));
+    }
+
+    /**
+     * Test POST /task/search/explain endpoint.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void testExplainSearch() throws Exception {
+        String categoryName = "Explain-" + UUID.randomUUID();
+        createCategory(categoryName, "Explain category");
+        createTask("Explain Task", categoryName);
+        String criteriaJson = objectMapper.writeValueAsString(List.of(new SearchCriteria("category.name", "=", categoryName)));
+
+        String response = mockMvc.perform(post("/task/search/explain")
+                        .param("size", "5")
+                        .param("sortBy", "name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(criteriaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parameters").value(org.hamcrest.Matchers.hasItem(categoryName)))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode explanation = readTree(response);
+        assertTrue(explanation.get("sql").asText().contains("?"));
+        assertTrue(explanation.get("plan").asText().contains("scanCount"));
+        assertTrue(explanation.get("rowsScanned").asLong() >= 1);
+        assertFalse(explanation.get("indexesUsed").isEmpty() && explanation.get("tableScans").isEmpty());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
 }
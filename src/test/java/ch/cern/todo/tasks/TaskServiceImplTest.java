@@ -2,16 +2,24 @@ package ch.cern.todo.tasks;
 
 import ch.cern.todo.category.CategoryRepository;
 import ch.cern.todo.category.dataModels.Category;
+import ch.cern.todo.category.dataModels.CategoryKey;
 import ch.cern.todo.exceptions.EntityNotExistException;
+import ch.cern.todo.exceptions.ValidationException;
+import ch.cern.todo.metrics.SearchMetrics;
+import ch.cern.todo.outbox.TaskOutboxService;
 import ch.cern.todo.profile.ProfileService;
 import ch.cern.todo.searchEngine.SearchCriteria;
+import ch.cern.todo.stream.ChangeStreamService;
 import ch.cern.todo.tasks.dataModels.Task;
 import ch.cern.todo.tasks.dataModels.TaskPriorityStatus;
 import ch.cern.todo.tasks.dataModels.TaskResource;
 import ch.cern.todo.tasks.dataModels.TaskStatus;
+import ch.cern.todo.web.dataModels.VersionedResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +30,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +48,15 @@ class TaskServiceImplTest {
     @Mock
     private ProfileService profileService;
 
+    @Mock
+    private ChangeStreamService changeStreamService;
+
+    @Mock
+    private TaskOutboxService taskOutboxService;
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskServiceImpl taskServiceImpl;
 
@@ -135,6 +153,29 @@ class TaskServiceImplTest {
         // You may also verify categoryName if your mapping uses it.
     }
 
+    @Test
+    void testGetVersionedTaskIsVersionedByTaskAndCategory() {
+        Category category = new Category();
+        category.setName("Category1");
+        category.setProcessedFrom(Timestamp.valueOf("2025-01-02 10:00:00"));
+        Task task = new Task();
+        task.setId("task1");
+        task.setName("Test Task");
+        task.setAssignedTo("user1");
+        task.setReportedBy("user2");
+        task.setCategory(category);
+        task.setProcessedFrom(Timestamp.valueOf("2025-01-01 10:00:00"));
+        task.setProcessedTo(Timestamp.valueOf("9999-12-31 12:00:00"));
+        when(taskRepository.findByIdAndProcessedTo("task1")).thenReturn(Optional.of(task));
+
+        VersionedResource<TaskResource> result = taskServiceImpl.getVersionedTask("task1");
+
+        assertNotNull(result);
+        assertEquals("Category1", result.resource().categoryName());
+        assertEquals(category.getProcessedFrom(), result.version().lastModified());
+        assertNull(taskServiceImpl.getVersionedTask("unknown"));
+    }
+
     @Test
     void testSaveTask_Success() {
         // Create a TaskResource with 11 arguments.
@@ -142,7 +183,7 @@ class TaskServiceImplTest {
                 "task1",                          // id
                 "Test Task",                      // name
                 "Test Task Description",          // description
-                Timestamp.valueOf("2025-02-20 00:00:00"), // deadLine
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)), // deadLine
                 TaskStatus.CREATED,               // status
                 TaskPriorityStatus.MEDIUM,        // priorityStatus
                 "user1",                          // assignedTo
@@ -175,7 +216,7 @@ class TaskServiceImplTest {
         savedTask.setReportedBy("user2");
         savedTask.setStatus(TaskStatus.CREATED);
         savedTask.setProcessedTo(Timestamp.valueOf("9999-12-31 12:00:00"));
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(savedTask);
 
         // Call the service.
         TaskResource savedResource = taskServiceImpl.saveTask(resource);
@@ -217,6 +258,31 @@ class TaskServiceImplTest {
         });
     }
 
+    @Test
+    void testSaveTask_CategoryClosedConcurrently() {
+        TaskResource resource = new TaskResource(
+                "task3",
+                "Test Task",
+                "Test Task Description",
+                Timestamp.valueOf(LocalDateTime.now().plusDays(7)),
+                TaskStatus.CREATED,
+                TaskPriorityStatus.MEDIUM,
+                "user1",
+                "User One",
+                "user2",
+                "User Two",
+                "Category1"
+        );
+        Category category = new Category();
+        category.setName("Category1");
+        when(categoryRepository.findByCategoryNameAndProcessedTo("Category1")).thenReturn(Optional.of(category));
+        // The foreign key rejects the task when the category version was closed after it was read.
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException("FK_TASK_CATEGORY"));
+
+        assertThrows(ValidationException.class, () -> taskServiceImpl.saveTask(resource));
+        verify(taskOutboxService, never()).record(any(), any());
+    }
+
     // ===========================
     // Tests for update scenarios
     // ===========================
@@ -330,4 +396,144 @@ class TaskServiceImplTest {
         // Verify that save was called (indicating an update).
         verify(taskRepository, atLeastOnce()).save(any(Task.class));
     }
+
+    // ===========================
+    // Tests for bulk updates
+    // ===========================
+
+    @Test
+    void testUpdateStatuses_Success() {
+        Category category = new Category();
+        category.setName("Category1");
+        Task existingTask = new Task();
+        existingTask.setId("task1");
+        existingTask.setStatus(TaskStatus.CREATED);
+        existingTask.setCategory(category);
+        Task updatedTask = new Task();
+        updatedTask.setId("task1");
+        updatedTask.setStatus(TaskStatus.COMPLETED);
+        updatedTask.setCategory(category);
+
+        when(taskRepository.findAllByIdInAndProcessedTo(any())).thenReturn(List.of(existingTask));
+        when(taskRepository.findCurrentVersionsByIdIn(any())).thenReturn(List.of(updatedTask));
+
+        List<TaskResource> result = taskServiceImpl.updateStatuses(List.of("task1"), TaskStatus.COMPLETED);
+
+        assertEquals(1, result.size());
+        assertEquals(TaskStatus.COMPLETED, result.get(0).status());
+        verify(taskRepository).closeVersions(eq(Set.of("task1")), any(Timestamp.class));
+        verify(taskRepository).updateStatusOfCurrentVersions(eq(Set.of("task1")), eq(TaskStatus.COMPLETED), any(Timestamp.class));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testUpdateStatuses_MissingTask() {
+        when(taskRepository.findAllByIdInAndProcessedTo(any())).thenReturn(Collections.emptyList());
+
+        assertThrows(EntityNotExistException.class,
+                () -> taskServiceImpl.updateStatuses(List.of("missing"), TaskStatus.COMPLETED));
+        verify(taskRepository, never()).closeVersions(any(), any());
+    }
+
+    @Test
+    void testUpdateStatuses_EmptyIds() {
+        assertThrows(ValidationException.class,
+                () -> taskServiceImpl.updateStatuses(Collections.emptyList(), TaskStatus.COMPLETED));
+    }
+
+    @Test
+    void testMoveTasksToCategory_Success() {
+        Category target = new Category();
+        target.setId("target");
+        target.setName("Target");
+        Task movedTask = new Task();
+        movedTask.setId("task1");
+        movedTask.setStatus(TaskStatus.CREATED);
+        movedTask.setCategory(target);
+
+        when(categoryRepository.findIdByCategoryNameAndProcessedTo("Source")).thenReturn(Optional.of("source"));
+        when(categoryRepository.findIdByCategoryNameAndProcessedTo("Target")).thenReturn(Optional.of("target"));
+        when(categoryRepository.getReferenceById(any(CategoryKey.class))).thenReturn(target);
+        when(taskRepository.moveCurrentVersions(any(), any(), any())).thenReturn(1);
+        when(taskRepository.findAllByCategoryAndProcessedFrom(any(), any())).thenReturn(List.of(movedTask));
+
+        assertEquals(1, taskServiceImpl.moveTasksToCategory("Source", "Target"));
+        verify(taskOutboxService).recordAll(any(), anyList());
+    }
+
+    @Test
+    void testMoveTasksToCategory_SameCategory() {
+        when(categoryRepository.findIdByCategoryNameAndProcessedTo("Source")).thenReturn(Optional.of("source"));
+
+        assertThrows(ValidationException.class, () -> taskServiceImpl.moveTasksToCategory("Source", "Source"));
+    }
+
+    @Test
+    void testGetTasks_PreservesRequestOrder() {
+        Category category = new Category();
+        category.setName("Category1");
+        Task first = new Task();
+        first.setCategory(category);
+        first.setId("task1");
+        first.setStatus(TaskStatus.CREATED);
+        first.setAssignedTo("user1");
+        first.setReportedBy("user2");
+        Task second = new Task();
+        second.setId("task2");
+        second.setCategory(category);
+        second.setStatus(TaskStatus.CREATED);
+        second.setAssignedTo("user1");
+        second.setReportedBy("user2");
+
+        when(taskRepository.findAllByIdInAndProcessedTo(any())).thenReturn(List.of(first, second));
+        when(profileService.getFullNames(any())).thenReturn(Map.of("user1", "User One", "user2", "User Two"));
+
+        List<TaskResource> result = taskServiceImpl.getTasks(List.of("task2", "missing", "task1"));
+
+        assertEquals(List.of("task2", "task1"), result.stream().map(TaskResource::id).toList());
+        assertEquals("User One", result.get(0).assignedToName());
+        verify(taskRepository).findAllByIdInAndProcessedTo(Set.of("task2", "missing", "task1"));
+        verify(profileService).getFullNames(any());
+        verify(profileService, never()).getFullName(any());
+    }
+
+    // ===========================
+    // Tests for sparse fieldsets
+    // ===========================
+
+    @Test
+    void testGetAllTasksWithFields_SkipsProfileResolution() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "task1");
+        row.put("status", TaskStatus.CREATED);
+        when(taskRepository.findAllAttributes(any(Specification.class), eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+
+        Page<Map<String, Object>> result = taskServiceImpl.getAllTasks(pageable, Collections.emptyList(), List.of("status", "id"));
+
+        assertEquals(List.of("id", "status"), new ArrayList<>(result.getContent().get(0).keySet()));
+        verify(taskRepository).findAllAttributes(any(Specification.class), eq(pageable), eq(Set.of("id", "status")));
+        verifyNoInteractions(profileService);
+    }
+
+    @Test
+    void testGetAllTasksWithFields_ResolvesRequestedNames() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("assignedTo", "user1");
+        when(taskRepository.findAllAttributes(any(Specification.class), eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+        when(profileService.getFullNames(Set.of("user1"))).thenReturn(Map.of("user1", "User One"));
+
+        Page<Map<String, Object>> result = taskServiceImpl.getAllTasks(pageable, Collections.emptyList(), List.of("assignedToName"));
+
+        assertEquals(Map.of("assignedToName", "User One"), result.getContent().get(0));
+    }
+
+    @Test
+    void testGetAllTasksWithFields_UnknownField() {
+        assertThrows(ValidationException.class,
+                () -> taskServiceImpl.getAllTasks(PageRequest.of(0, 10), Collections.emptyList(), List.of("unknown")));
+    }
 }
@@ -0,0 +1,79 @@
+package ch.cern.todo.timing;
+
+import ch.cern.todo.searchEngine.SearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "todo.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ServerTimingFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test that GET /task reports its phases in the Server-Timing header.
+     */
+    @Test
+    @WithMockUser(username = "adriBana", roles = {"ADMIN"})
+    void testSearchReportsPhases() throws Exception {
+        String serverTiming = mockMvc.perform(get("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new SearchCriteria("name", ":", "timing")))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.SERVER_TIMING);
+
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("auth;desc=\"Authentication\";dur="));
+        assertTrue(serverTiming.contains("search-plan;desc=\"Search plan\";dur="));
+        assertTrue(serverTiming.matches(".*sql;desc=\"SQL \\(\\d+\\)\";dur=\\d+\\.\\d{3}.*"));
+        assertTrue(serverTiming.contains("serialisation;desc=\"Serialisation\";dur="));
+        assertTrue(serverTiming.matches(".*, total;dur=\\d+\\.\\d{3}"));
+    }
+
+    /**
+     * Test that the SQL of bulk operations, which run on the bulk lane, is reported for the request.
+     */
+    @Test
+    @WithMockUser(username = "adriBana", roles = {"ADMIN"})
+    void testBulkLaneWorkIsReported() throws Exception {
+        String serverTiming = mockMvc.perform(put("/task/bulk/status")
+                        .param("taskStatus", "IN_PROGRESS")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(UUID.randomUUID().toString()))))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.SERVER_TIMING);
+
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches(".*sql;desc=\"SQL \\(\\d+\\)\";dur=\\d+\\.\\d{3}.*"));
+    }
+
+    /**
+     * Test that streamed exports are not buffered and carry no Server-Timing header.
+     */
+    @Test
+    @WithMockUser(username = "adriBana", roles = {"ADMIN"})
+    void testExportIsNotTimed() throws Exception {
+        mockMvc.perform(get("/task/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING));
+    }
+}
@@ -0,0 +1,33 @@
+package ch.cern.todo.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExportWriterTest {
+
+    @Test
+    void testWritesHeaderAndEscapesValues() throws Exception {
+        CsvExportWriter writer = new CsvExportWriter();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "task1");
+        row.put("name", "Plan, \"review\"");
+        row.put("description", null);
+        row.put("deadLine", Timestamp.from(Instant.parse("2030-01-01T10:00:00Z")));
+
+        writer.writeHeader(outputStream, List.of("id", "name", "description", "deadLine"));
+        writer.write(outputStream, row);
+
+        assertEquals("id,name,description,deadLine\r\ntask1,\"Plan, \"\"review\"\"\",,2030-01-01T10:00:00Z\r\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+}